@@ -0,0 +1,170 @@
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Копит сообщения и отправляет их одним вызовом sendBatch, когда набралось
+// maxBatchSize сообщений или самое старое ждёт дольше linger. Ошибка получателя
+// не останавливает таймер: пачка считается неотправленной, следующие уходят как обычно.
+public class BatchingNotificationSender implements NotificationSender, AutoCloseable {
+    private final NotificationSender delegate;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final ScheduledExecutorService timer;
+
+    private final Object sendLock = new Object();
+    private List<String> buffer;
+    private long oldestMessageNanos;
+
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder sizeFlushes = new LongAdder();
+    private final LongAdder timeFlushes = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder failedMessages = new LongAdder();
+
+    public BatchingNotificationSender(NotificationSender delegate, int maxBatchSize, Duration linger) {
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = linger.toNanos();
+        this.buffer = new ArrayList<>(maxBatchSize);
+        this.timer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "notification-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, lingerNanos / 2);
+        timer.scheduleAtFixedRate(this::flushIfLingering, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    public void send(String message) {
+        boolean full;
+        synchronized (this) {
+            if (buffer.isEmpty()) {
+                oldestMessageNanos = System.nanoTime();
+            }
+            buffer.add(message);
+            full = buffer.size() >= maxBatchSize;
+        }
+        if (full) {
+            flush(FlushReason.SIZE);
+        }
+    }
+
+    public void flush() {
+        flush(FlushReason.EXPLICIT);
+    }
+
+    private void flush(FlushReason reason) {
+        // отдельная блокировка сохраняет порядок пачек у получателя
+        synchronized (sendLock) {
+            do {
+                List<String> batch;
+                synchronized (this) {
+                    // условие проверяется там же, где забирается буфер: гонка двух потоков
+                    // за один полный буфер не даёт второй неполной пачки
+                    if (!reason.isDue(this)) {
+                        return;
+                    }
+                    batch = takeBatch();
+                }
+                if (reason == FlushReason.SIZE) {
+                    sizeFlushes.increment();
+                } else if (reason == FlushReason.LINGER) {
+                    timeFlushes.increment();
+                }
+                deliver(batch);
+            } while (reason == FlushReason.EXPLICIT);
+        }
+    }
+
+    // пока пачка ждала отправки, буфер мог переполниться — лишнее остаётся на следующую
+    private List<String> takeBatch() {
+        List<String> batch = buffer;
+        if (batch.size() <= maxBatchSize) {
+            buffer = new ArrayList<>(maxBatchSize);
+            return batch;
+        }
+        List<String> tail = batch.subList(maxBatchSize, batch.size());
+        buffer = new ArrayList<>(tail);
+        tail.clear();
+        oldestMessageNanos = System.nanoTime();
+        return batch;
+    }
+
+    private void deliver(List<String> batch) {
+        try {
+            delegate.sendBatch(batch);
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            failedMessages.add(batch.size());
+            return;
+        }
+        messages.add(batch.size());
+        batches.increment();
+    }
+
+    public long getMessagesSent() {
+        return messages.sum();
+    }
+
+    public long getBatchesSent() {
+        return batches.sum();
+    }
+
+    public long getSizeFlushes() {
+        return sizeFlushes.sum();
+    }
+
+    public long getTimeFlushes() {
+        return timeFlushes.sum();
+    }
+
+    public long getFailedBatches() {
+        return failedBatches.sum();
+    }
+
+    public long getFailedMessages() {
+        return failedMessages.sum();
+    }
+
+    public double getAverageBatchSize() {
+        long sent = batches.sum();
+        return sent == 0 ? 0 : (double) messages.sum() / sent;
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        flush();
+    }
+
+    private void flushIfLingering() {
+        // исключение из задачи scheduleAtFixedRate навсегда отменило бы таймер
+        try {
+            flush(FlushReason.LINGER);
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+        }
+    }
+
+    private enum FlushReason {
+        SIZE, LINGER, EXPLICIT;
+
+        // вызывается под монитором отправителя
+        boolean isDue(BatchingNotificationSender sender) {
+            switch (this) {
+                case SIZE:
+                    return sender.buffer.size() >= sender.maxBatchSize;
+                case LINGER:
+                    return !sender.buffer.isEmpty()
+                            && System.nanoTime() - sender.oldestMessageNanos >= sender.lingerNanos;
+                default:
+                    return !sender.buffer.isEmpty();
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+// Сообщений в секунду через BatchingNotificationSender против заглушки шлюза в том же процессе.
+// Для сравнения те же сообщения отправляются заглушке по одному.
+// Запуск: java BatchingSenderBenchmark [потоков] [сообщений] [размер пакета] [стоимость запроса, мкс]
+public class BatchingSenderBenchmark {
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int messages = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int batchSize = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        long requestNanos = args.length > 3 ? Long.parseLong(args[3]) * 1000 : 0;
+
+        StubGateway direct = new StubGateway(requestNanos);
+        double directRate = run(direct, threads, messages);
+        System.out.printf("По одному:  %,.0f сообщений/с, запросов к шлюзу %d%n",
+                directRate, direct.requests.sum());
+
+        StubGateway gateway = new StubGateway(requestNanos);
+        BatchingNotificationSender batching =
+                new BatchingNotificationSender(gateway, batchSize, Duration.ofMillis(5));
+        long start = System.nanoTime();
+        run(batching, threads, messages);
+        // close досылает остаток буфера, это тоже часть работы
+        batching.close();
+        double batchedRate = messages / ((System.nanoTime() - start) / 1e9);
+        System.out.printf("Пакетами:   %,.0f сообщений/с, запросов к шлюзу %d%n",
+                batchedRate, gateway.requests.sum());
+        System.out.printf("Средний пакет %.1f, сброшено по размеру %d, по времени %d%n",
+                batching.getAverageBatchSize(), batching.getSizeFlushes(), batching.getTimeFlushes());
+
+        if (gateway.delivered.sum() != messages || batching.getFailedMessages() != 0) {
+            System.out.println("ОШИБКА: доставлено " + gateway.delivered.sum() + " из " + messages);
+            System.exit(1);
+        }
+    }
+
+    private static double run(NotificationSender sender, int threads, int messages) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int from = (int) ((long) messages * t / threads);
+            int to = (int) ((long) messages * (t + 1) / threads);
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = from; i < to; i++) {
+                    sender.send("message");
+                }
+            });
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return messages / ((System.nanoTime() - begin) / 1e9);
+    }
+
+    // Шлюз, который ничего не отправляет. requestNanos имитирует постоянную цену одного
+    // запроса (сеть, рукопожатие), которую пакетная отправка платит один раз на пакет.
+    private static class StubGateway implements NotificationSender {
+        private final long requestNanos;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder delivered = new LongAdder();
+
+        private StubGateway(long requestNanos) {
+            this.requestNanos = requestNanos;
+        }
+
+        public void send(String message) {
+            request(1);
+        }
+
+        @Override
+        public void sendBatch(List<String> messages) {
+            request(messages.size());
+        }
+
+        private void request(int count) {
+            long until = System.nanoTime() + requestNanos;
+            while (requestNanos > 0 && System.nanoTime() < until) {
+                Thread.onSpinWait();
+            }
+            requests.increment();
+            delivered.add(count);
+        }
+    }
+}
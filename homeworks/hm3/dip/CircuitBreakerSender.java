@@ -0,0 +1,99 @@
+import java.time.Duration;
+
+// Размыкает цепь после failureThreshold подряд неудачных или слишком медленных отправок.
+// Пока цепь разомкнута, send сразу бросает исключение, не дожидаясь шлюза. После
+// openDuration пропускается одна пробная отправка: успех замыкает цепь, неудача снова размыкает.
+// Каждая смена состояния начинает новое поколение; вызов помнит поколение, в котором был
+// допущен, и его результат из прошлого поколения на состояние цепи не влияет.
+public class CircuitBreakerSender implements NotificationSender {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final NotificationSender delegate;
+    private final int failureThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private long generation;
+    private boolean trialInFlight;
+    private long rejected;
+
+    public CircuitBreakerSender(NotificationSender delegate, int failureThreshold,
+                                Duration slowCallThreshold, Duration openDuration) {
+        this.delegate = delegate;
+        this.failureThreshold = failureThreshold;
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.openNanos = openDuration.toNanos();
+    }
+
+    public void send(String message) {
+        long permit = acquirePermission();
+        long start = System.nanoTime();
+        try {
+            delegate.send(message);
+        } catch (RuntimeException e) {
+            onFailure(permit);
+            throw e;
+        }
+        if (System.nanoTime() - start > slowCallNanos) {
+            onFailure(permit);
+        } else {
+            onSuccess(permit);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    // разрешение — поколение, сдвинутое на бит, и младший бит «пробный вызов»
+    private synchronized long acquirePermission() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            moveTo(State.HALF_OPEN);
+        }
+        if (state == State.OPEN || (state == State.HALF_OPEN && trialInFlight)) {
+            rejected++;
+            throw new IllegalStateException("Circuit open for " + delegate.getClass().getSimpleName());
+        }
+        if (state == State.HALF_OPEN) {
+            trialInFlight = true;
+            return generation << 1 | 1;
+        }
+        return generation << 1;
+    }
+
+    private synchronized void onSuccess(long permit) {
+        if (permit >>> 1 != generation) {
+            return;
+        }
+        if ((permit & 1) != 0) {
+            moveTo(State.CLOSED);
+        } else {
+            consecutiveFailures = 0;
+        }
+    }
+
+    private synchronized void onFailure(long permit) {
+        if (permit >>> 1 != generation) {
+            return;
+        }
+        consecutiveFailures++;
+        if ((permit & 1) != 0 || consecutiveFailures >= failureThreshold) {
+            moveTo(State.OPEN);
+            openedAt = System.nanoTime();
+        }
+    }
+
+    private void moveTo(State next) {
+        state = next;
+        generation++;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+}
@@ -0,0 +1,39 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class DeliveryReport {
+    public enum Status { DELIVERED, FAILED, TIMED_OUT }
+
+    private final Map<String, Status> statuses = new LinkedHashMap<>();
+    private final Map<String, Throwable> errors = new LinkedHashMap<>();
+
+    void delivered(String sender) {
+        statuses.put(sender, Status.DELIVERED);
+    }
+
+    void failed(String sender, Throwable error) {
+        statuses.put(sender, Status.FAILED);
+        errors.put(sender, error);
+    }
+
+    void timedOut(String sender) {
+        statuses.put(sender, Status.TIMED_OUT);
+    }
+
+    public Map<String, Status> getStatuses() {
+        return statuses;
+    }
+
+    public Throwable getError(String sender) {
+        return errors.get(sender);
+    }
+
+    public boolean isFullyDelivered() {
+        return !statuses.containsValue(Status.FAILED) && !statuses.containsValue(Status.TIMED_OUT);
+    }
+
+    @Override
+    public String toString() {
+        return "DeliveryReport" + statuses;
+    }
+}
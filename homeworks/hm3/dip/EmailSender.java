@@ -1,5 +1,11 @@
+import java.util.List;
+
 public class EmailSender implements NotificationSender {
     public void send(String message) {
         System.out.println("Email sent: " + message);
     }
+
+    public void sendBatch(List<String> messages) {
+        System.out.println("Email batch sent (" + messages.size() + "): " + messages);
+    }
 }
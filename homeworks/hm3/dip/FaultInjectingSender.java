@@ -0,0 +1,35 @@
+import java.util.concurrent.ThreadLocalRandom;
+
+// Имитация деградировавшего шлюза: часть отправок падает, часть подвисает.
+public class FaultInjectingSender implements NotificationSender {
+    private volatile double failureRate;
+    private volatile double slowRate;
+    private volatile long slowMillis;
+    private volatile long normalMillis;
+
+    public FaultInjectingSender(long normalMillis) {
+        this.normalMillis = normalMillis;
+    }
+
+    public void setFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+    }
+
+    public void setSlowness(double slowRate, long slowMillis) {
+        this.slowRate = slowRate;
+        this.slowMillis = slowMillis;
+    }
+
+    public void send(String message) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < failureRate) {
+            throw new IllegalStateException("Injected failure for: " + message);
+        }
+        long delay = random.nextDouble() < slowRate ? slowMillis : normalMillis;
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+import java.util.Arrays;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Если отправка идёт дольше заданного перцентиля недавних задержек, запускается
+// вторая попытка, и засчитывается та, что завершится первой. Подходит только для
+// шлюзов, где повторная доставка безопасна.
+public class HedgingSender implements NotificationSender {
+    private static final int WINDOW = 128;
+    private static final int MIN_SAMPLES = 20;
+
+    private final NotificationSender delegate;
+    private final ExecutorService executor;
+    private final double percentile;
+
+    private final long[] latencies = new long[WINDOW];
+    private int samples;
+    private int next;
+    private long hedges;
+
+    public HedgingSender(NotificationSender delegate, ExecutorService executor, double percentile) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.percentile = percentile;
+    }
+
+    public void send(String message) {
+        long hedgeDelay = hedgeDelayNanos();
+        long start = System.nanoTime();
+        CompletionService<Void> attempts = new ExecutorCompletionService<>(executor);
+        Future<Void> first = attempts.submit(() -> {
+            delegate.send(message);
+            return null;
+        });
+        Future<Void> second = null;
+        try {
+            Future<Void> done = attempts.poll(hedgeDelay, TimeUnit.NANOSECONDS);
+            if (done == null) {
+                synchronized (this) {
+                    hedges++;
+                }
+                second = attempts.submit(() -> {
+                    delegate.send(message);
+                    return null;
+                });
+                done = attempts.take();
+            }
+            try {
+                done.get();
+            } catch (ExecutionException e) {
+                if (second == null) {
+                    throw e;
+                }
+                // первая завершившаяся попытка упала — ждём вторую
+                attempts.take().get();
+            }
+            record(System.nanoTime() - start);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending", e);
+        } finally {
+            first.cancel(true);
+            if (second != null) {
+                second.cancel(true);
+            }
+        }
+    }
+
+    public synchronized long getHedges() {
+        return hedges;
+    }
+
+    private synchronized void record(long latencyNanos) {
+        latencies[next] = latencyNanos;
+        next = (next + 1) % WINDOW;
+        if (samples < WINDOW) {
+            samples++;
+        }
+    }
+
+    private synchronized long hedgeDelayNanos() {
+        if (samples < MIN_SAMPLES) {
+            return Long.MAX_VALUE;
+        }
+        long[] sorted = Arrays.copyOf(latencies, samples);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * samples) - 1;
+        return sorted[Math.max(0, Math.min(samples - 1, index))];
+    }
+}
@@ -0,0 +1,153 @@
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Ограниченная очередь между отправителями запросов и NotificationService:
+// много производителей, один поток-потребитель. Политика решает, что делать,
+// когда очередь заполнена.
+public class NotificationDispatcher implements AutoCloseable {
+    public enum OverflowPolicy { BLOCK, DROP_OLDEST, DROP_NEWEST, CALLER_RUNS }
+
+    private final NotificationService service;
+    private final BlockingQueue<String> queue;
+    private final OverflowPolicy policy;
+    private final Thread consumer;
+    private volatile boolean running = true;
+    // производители внутри submit: close дожидается их, чтобы не потерять сообщение,
+    // принятое уже после выхода потребителя
+    private final AtomicInteger submitting = new AtomicInteger();
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public NotificationDispatcher(NotificationService service, int capacity, OverflowPolicy policy) {
+        this.service = service;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.policy = policy;
+        this.consumer = new Thread(this::drainLoop, "notification-dispatcher");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    // false — сообщение отброшено (DROP_NEWEST) или диспетчер закрыт
+    public boolean submit(String message) throws InterruptedException {
+        submitting.incrementAndGet();
+        try {
+            if (!running) {
+                return false;
+            }
+            return enqueue(message);
+        } finally {
+            submitting.decrementAndGet();
+        }
+    }
+
+    private boolean enqueue(String message) throws InterruptedException {
+        if (queue.offer(message)) {
+            accepted.increment();
+            return true;
+        }
+        switch (policy) {
+            case BLOCK:
+                queue.put(message);
+                accepted.increment();
+                return true;
+            case DROP_OLDEST:
+                while (!queue.offer(message)) {
+                    if (queue.poll() != null) {
+                        dropped.increment();
+                    }
+                }
+                accepted.increment();
+                return true;
+            case CALLER_RUNS:
+                callerRuns.increment();
+                deliver(message);
+                return true;
+            case DROP_NEWEST:
+            default:
+                dropped.increment();
+                return false;
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getCallerRuns() {
+        return callerRuns.sum();
+    }
+
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    // Остаток очереди и сообщения, принятые во время закрытия, доставляются в вызывающем потоке
+    @Override
+    public void close() {
+        running = false;
+        boolean interrupted = false;
+        while (true) {
+            try {
+                consumer.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        while (true) {
+            String message = queue.poll();
+            if (message != null) {
+                deliver(message);
+            } else if (submitting.get() == 0 && queue.isEmpty()) {
+                break;
+            } else {
+                Thread.yield();
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        while (running || !queue.isEmpty()) {
+            String message;
+            try {
+                message = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (message != null) {
+                deliver(message);
+            }
+        }
+    }
+
+    private void deliver(String message) {
+        try {
+            service.sendNotification(message);
+            delivered.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+        }
+    }
+}
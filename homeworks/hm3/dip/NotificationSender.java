@@ -1,3 +1,11 @@
+import java.util.List;
+
 public interface NotificationSender {
     void send(String message);
+
+    default void sendBatch(List<String> messages) {
+        for (String message : messages) {
+            send(message);
+        }
+    }
 }
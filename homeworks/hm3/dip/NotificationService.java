@@ -1,10 +1,29 @@
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class NotificationService {
     private List<NotificationSender> senders;
+    private ExecutorService executor;
 
     public NotificationService(List<NotificationSender> senders) {
+        this(senders, Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "notification-sender");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    // на Java 21+ сюда передаётся Executors.newVirtualThreadPerTaskExecutor()
+    public NotificationService(List<NotificationSender> senders, ExecutorService executor) {
         this.senders = senders;
+        this.executor = executor;
     }
 
     public void sendNotification(String message) {
@@ -12,4 +31,35 @@ public class NotificationService {
             sender.send(message);
         }
     }
+
+    public DeliveryReport sendNotificationConcurrently(String message, Duration deadline) {
+        List<Future<?>> deliveries = new ArrayList<>();
+        for (NotificationSender sender : senders) {
+            deliveries.add(executor.submit(() -> sender.send(message)));
+        }
+
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        DeliveryReport report = new DeliveryReport();
+        for (int i = 0; i < senders.size(); i++) {
+            String name = senders.get(i).getClass().getSimpleName();
+            if (report.getStatuses().containsKey(name)) {
+                name += "#" + i;
+            }
+            Future<?> delivery = deliveries.get(i);
+            try {
+                delivery.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                report.delivered(name);
+            } catch (TimeoutException e) {
+                delivery.cancel(true);
+                report.timedOut(name);
+            } catch (ExecutionException e) {
+                report.failed(name, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                delivery.cancel(true);
+                report.failed(name, e);
+            }
+        }
+        return report;
+    }
 }
@@ -0,0 +1,157 @@
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Проверка CircuitBreakerSender и HedgingSender на имитации деградировавшего шлюза.
+// Запуск: java SenderFaultTest
+public class SenderFaultTest {
+    private static final int THRESHOLD = 3;
+    private static final Duration OPEN = Duration.ofMillis(200);
+
+    public static void main(String[] args) throws InterruptedException {
+        boolean ok = checkOpensAndFailsFast()
+                & checkClosesAfterTrial()
+                & checkReopensAfterFailedTrial()
+                & checkSlowCallsOpen()
+                & checkHedgingCutsTail();
+        if (!ok) {
+            System.out.println("ПРОВЕРКА НЕ ПРОЙДЕНА");
+            System.exit(1);
+        }
+        System.out.println("Все проверки пройдены");
+    }
+
+    // после THRESHOLD неудач подряд цепь размыкается, и следующий вызов до шлюза не доходит
+    private static boolean checkOpensAndFailsFast() {
+        FaultInjectingSender gateway = new FaultInjectingSender(0);
+        gateway.setFailureRate(1.0);
+        AtomicInteger calls = new AtomicInteger();
+        CircuitBreakerSender breaker = breaker(counting(gateway, calls));
+
+        for (int i = 0; i < THRESHOLD; i++) {
+            trySend(breaker);
+        }
+        boolean opened = breaker.getState() == CircuitBreakerSender.State.OPEN;
+
+        long start = System.nanoTime();
+        boolean rejected = !trySend(breaker);
+        long micros = (System.nanoTime() - start) / 1000;
+        boolean ok = opened && rejected && calls.get() == THRESHOLD && breaker.getRejected() == 1 && micros < 5000;
+        System.out.println("Размыкание: состояние " + breaker.getState() + ", вызовов шлюза " + calls.get()
+                + ", отклонено " + breaker.getRejected() + " за " + micros + " мкс — " + (ok ? "OK" : "ОШИБКА"));
+        return ok;
+    }
+
+    // по истечении OPEN одна пробная отправка; успешная замыкает цепь
+    private static boolean checkClosesAfterTrial() throws InterruptedException {
+        FaultInjectingSender gateway = new FaultInjectingSender(0);
+        CircuitBreakerSender breaker = open(gateway, gateway);
+
+        Thread.sleep(OPEN.toMillis() + 50);
+        gateway.setFailureRate(0);
+        boolean trial = trySend(breaker);
+        boolean ok = trial && breaker.getState() == CircuitBreakerSender.State.CLOSED && trySend(breaker);
+        System.out.println("Пробная отправка удалась: состояние " + breaker.getState() + " — " + (ok ? "OK" : "ОШИБКА"));
+        return ok;
+    }
+
+    // неудачная пробная отправка снова размыкает цепь на полный срок
+    private static boolean checkReopensAfterFailedTrial() throws InterruptedException {
+        FaultInjectingSender gateway = new FaultInjectingSender(0);
+        AtomicInteger calls = new AtomicInteger();
+        CircuitBreakerSender breaker = open(gateway, counting(gateway, calls));
+
+        Thread.sleep(OPEN.toMillis() + 50);
+        int before = calls.get();
+        boolean trial = trySend(breaker);
+        boolean reopened = breaker.getState() == CircuitBreakerSender.State.OPEN;
+        boolean rejected = !trySend(breaker);
+        boolean ok = !trial && reopened && rejected && calls.get() == before + 1;
+        System.out.println("Пробная отправка не удалась: состояние " + breaker.getState()
+                + ", вызовов шлюза за пробу " + (calls.get() - before) + " — " + (ok ? "OK" : "ОШИБКА"));
+        return ok;
+    }
+
+    // медленные отправки считаются неудачами, хотя и не бросают исключений
+    private static boolean checkSlowCallsOpen() {
+        FaultInjectingSender gateway = new FaultInjectingSender(0);
+        gateway.setSlowness(1.0, 60);
+        CircuitBreakerSender breaker = new CircuitBreakerSender(gateway, THRESHOLD, Duration.ofMillis(20), OPEN);
+
+        int delivered = 0;
+        for (int i = 0; i < THRESHOLD; i++) {
+            if (trySend(breaker)) {
+                delivered++;
+            }
+        }
+        boolean ok = delivered == THRESHOLD && breaker.getState() == CircuitBreakerSender.State.OPEN && !trySend(breaker);
+        System.out.println("Медленный шлюз: доставлено " + delivered + ", состояние " + breaker.getState()
+                + " — " + (ok ? "OK" : "ОШИБКА"));
+        return ok;
+    }
+
+    // 5% отправок подвисают на 150 мс; повторная попытка после p90 должна срезать p99
+    private static boolean checkHedgingCutsTail() {
+        FaultInjectingSender gateway = new FaultInjectingSender(2);
+        gateway.setSlowness(0.05, 150);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            HedgingSender hedging = new HedgingSender(gateway, executor, 90);
+            // прогрев: пока задержек меньше MIN_SAMPLES, HedgingSender повторов не делает
+            for (int i = 0; i < 50; i++) {
+                hedging.send("warmup");
+            }
+            double direct = p99Millis(gateway, 300);
+            double hedged = p99Millis(hedging, 300);
+            boolean ok = hedged * 2 < direct && hedging.getHedges() > 0;
+            System.out.printf("Повторные попытки: p99 без них %.1f мс, с ними %.1f мс, повторов %d — %s%n",
+                    direct, hedged, hedging.getHedges(), ok ? "OK" : "ОШИБКА");
+            return ok;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static double p99Millis(NotificationSender sender, int sends) {
+        long[] latencies = new long[sends];
+        for (int i = 0; i < sends; i++) {
+            long start = System.nanoTime();
+            sender.send("message " + i);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies[(int) Math.ceil(0.99 * sends) - 1] / 1e6;
+    }
+
+    private static CircuitBreakerSender breaker(NotificationSender delegate) {
+        return new CircuitBreakerSender(delegate, THRESHOLD, Duration.ofSeconds(1), OPEN);
+    }
+
+    // цепь, уже разомкнутая THRESHOLD неудачами; шлюз после этого продолжает падать
+    private static CircuitBreakerSender open(FaultInjectingSender gateway, NotificationSender delegate) {
+        gateway.setFailureRate(1.0);
+        CircuitBreakerSender breaker = breaker(delegate);
+        for (int i = 0; i < THRESHOLD; i++) {
+            trySend(breaker);
+        }
+        return breaker;
+    }
+
+    private static NotificationSender counting(FaultInjectingSender gateway, AtomicInteger calls) {
+        return message -> {
+            calls.incrementAndGet();
+            gateway.send(message);
+        };
+    }
+
+    private static boolean trySend(NotificationSender sender) {
+        try {
+            sender.send("message");
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+}
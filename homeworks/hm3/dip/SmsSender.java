@@ -1,5 +1,11 @@
+import java.util.List;
+
 public class SmsSender implements NotificationSender {
     public void send(String message) {
         System.out.println("SMS sent: " + message);
     }
+
+    public void sendBatch(List<String> messages) {
+        System.out.println("SMS batch sent (" + messages.size() + "): " + messages);
+    }
 }
@@ -0,0 +1,249 @@
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Очередь заданий для многофункционального устройства: у каждой функции своя
+// приоритетная очередь и свой поток, поэтому печать не ждёт сканирования.
+// Внутри функции задания выполняются по приоритету (больше — раньше), при
+// равном приоритете — в порядке поступления. Подряд идущие мелкие задания
+// одного приоритета склеиваются в один вызов устройства.
+public class DeviceSpooler implements AutoCloseable {
+    public enum Capability { PRINT, SCAN, FAX }
+
+    private final Map<Capability, CapabilityQueue> queues = new EnumMap<>(Capability.class);
+    private final AtomicLong sequence = new AtomicLong();
+    private final int smallJobLimit;
+    private final int maxBatchSize;
+    private boolean closed;
+
+    public DeviceSpooler(Printer printer, Scanner scanner, Fax fax, int smallJobLimit, int maxBatchSize) {
+        this.smallJobLimit = smallJobLimit;
+        this.maxBatchSize = maxBatchSize;
+        if (printer != null) {
+            queues.put(Capability.PRINT, new CapabilityQueue(Capability.PRINT, printer::print));
+        }
+        if (scanner != null) {
+            queues.put(Capability.SCAN, new CapabilityQueue(Capability.SCAN, scanner::scan));
+        }
+        if (fax != null) {
+            queues.put(Capability.FAX, new CapabilityQueue(Capability.FAX, fax::fax));
+        }
+    }
+
+    public static <T extends Printer & Scanner & Fax> DeviceSpooler forAllInOne(T device) {
+        return new DeviceSpooler(device, device, device, 64, 16);
+    }
+
+    public CompletableFuture<Void> print(String content, int priority) {
+        return submit(Capability.PRINT, content, priority);
+    }
+
+    public CompletableFuture<Void> scan(String content, int priority) {
+        return submit(Capability.SCAN, content, priority);
+    }
+
+    public CompletableFuture<Void> fax(String content, int priority) {
+        return submit(Capability.FAX, content, priority);
+    }
+
+    public QueueStats getStats(Capability capability) {
+        return queue(capability).stats;
+    }
+
+    @Override
+    public void close() {
+        synchronized (queues) {
+            closed = true;
+            for (CapabilityQueue queue : queues.values()) {
+                queue.running = false;
+            }
+        }
+        boolean interrupted = false;
+        for (CapabilityQueue queue : queues.values()) {
+            while (true) {
+                try {
+                    queue.worker.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            // поток мог выйти по прерыванию, не разобрав очередь
+            Job left;
+            while ((left = queue.jobs.poll()) != null) {
+                left.future.completeExceptionally(new IllegalStateException("Spooler is closed"));
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<Void> submit(Capability capability, String content, int priority) {
+        CapabilityQueue queue = queue(capability);
+        Job job = new Job(content, priority, sequence.getAndIncrement());
+        // под той же блокировкой, что и в close: задание не попадёт в очередь после остановки потока
+        synchronized (queues) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Spooler is closed"));
+            }
+            queue.jobs.add(job);
+        }
+        return job.future;
+    }
+
+    private CapabilityQueue queue(Capability capability) {
+        CapabilityQueue queue = queues.get(capability);
+        if (queue == null) {
+            throw new UnsupportedOperationException("Device does not support " + capability);
+        }
+        return queue;
+    }
+
+    private class CapabilityQueue {
+        private final PriorityBlockingQueue<Job> jobs = new PriorityBlockingQueue<>();
+        private final Consumer<String> device;
+        private final QueueStats stats = new QueueStats();
+        private final Thread worker;
+        private volatile boolean running = true;
+
+        private CapabilityQueue(Capability capability, Consumer<String> device) {
+            this.device = device;
+            this.worker = new Thread(this::work, "spooler-" + capability.name().toLowerCase());
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        private void work() {
+            List<Job> batch = new ArrayList<>();
+            while (running || !jobs.isEmpty()) {
+                Job job;
+                try {
+                    job = jobs.poll(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (job == null) {
+                    continue;
+                }
+                batch.add(job);
+                if (job.content.length() <= smallJobLimit) {
+                    collectSmallJobs(job.priority, batch);
+                }
+                run(batch);
+                batch.clear();
+            }
+        }
+
+        private void collectSmallJobs(int priority, List<Job> batch) {
+            while (batch.size() < maxBatchSize) {
+                Job next = jobs.peek();
+                if (next == null || next.priority != priority || next.content.length() > smallJobLimit) {
+                    return;
+                }
+                // peek и poll не атомарны: задание с большим приоритетом могло успеть встать в голову
+                Job polled = jobs.poll();
+                if (polled != next) {
+                    if (polled != null) {
+                        jobs.add(polled);
+                    }
+                    return;
+                }
+                batch.add(polled);
+            }
+        }
+
+        private void run(List<Job> batch) {
+            String content;
+            if (batch.size() == 1) {
+                content = batch.get(0).content;
+            } else {
+                StringBuilder sb = new StringBuilder();
+                for (Job job : batch) {
+                    if (sb.length() > 0) {
+                        sb.append('\n');
+                    }
+                    sb.append(job.content);
+                }
+                content = sb.toString();
+            }
+            try {
+                device.accept(content);
+                long now = System.nanoTime();
+                for (Job job : batch) {
+                    stats.record(now - job.submittedNanos);
+                    job.future.complete(null);
+                }
+            } catch (RuntimeException e) {
+                for (Job job : batch) {
+                    job.future.completeExceptionally(e);
+                }
+            }
+            stats.batches.incrementAndGet();
+        }
+    }
+
+    private static class Job implements Comparable<Job> {
+        private final String content;
+        private final int priority;
+        private final long sequence;
+        private final long submittedNanos = System.nanoTime();
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private Job(String content, int priority, long sequence) {
+            this.content = content;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Job other) {
+            if (priority != other.priority) {
+                return Integer.compare(other.priority, priority);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    public static class QueueStats {
+        private final AtomicLong jobs = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final AtomicLong totalLatencyNanos = new AtomicLong();
+        private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+        private void record(long latencyNanos) {
+            jobs.incrementAndGet();
+            totalLatencyNanos.addAndGet(latencyNanos);
+            maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+        }
+
+        public long getJobs() {
+            return jobs.get();
+        }
+
+        public long getBatches() {
+            return batches.get();
+        }
+
+        public double getAverageLatencyMillis() {
+            long count = jobs.get();
+            return count == 0 ? 0 : totalLatencyNanos.get() / 1e6 / count;
+        }
+
+        public double getMaxLatencyMillis() {
+            return maxLatencyNanos.get() / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("jobs=%d, batches=%d, avg=%.2f ms, max=%.2f ms",
+                    getJobs(), getBatches(), getAverageLatencyMillis(), getMaxLatencyMillis());
+        }
+    }
+}
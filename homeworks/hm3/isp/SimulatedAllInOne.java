@@ -0,0 +1,32 @@
+// Имитация МФУ: каждая операция занимает заданное время.
+public class SimulatedAllInOne implements Printer, Scanner, Fax {
+    private final long printMillis;
+    private final long scanMillis;
+    private final long faxMillis;
+
+    public SimulatedAllInOne(long printMillis, long scanMillis, long faxMillis) {
+        this.printMillis = printMillis;
+        this.scanMillis = scanMillis;
+        this.faxMillis = faxMillis;
+    }
+
+    public void print(String content) {
+        simulate(printMillis);
+    }
+
+    public void scan(String content) {
+        simulate(scanMillis);
+    }
+
+    public void fax(String content) {
+        simulate(faxMillis);
+    }
+
+    private static void simulate(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+import java.lang.invoke.MethodHandle;
+
+// Все калькуляторы из правил — один и тот же final класс, поэтому место вызова
+// SalaryCalculator.calculate остаётся мономорфным и встраивается, сколько бы правил
+// ни было загружено. Сама цепочка шагов лежит в обычном поле экземпляра, и JIT не
+// считает её константой: invokeExact вызывает уже собранную форму цепочки, но шаги
+// в вызывающий код не встраиваются.
+public final class CompiledSalaryCalculator implements SalaryCalculator {
+    private final String name;
+    private final MethodHandle formula;
+
+    CompiledSalaryCalculator(String name, MethodHandle formula) {
+        this.name = name;
+        this.formula = formula;
+    }
+
+    public double calculate(double baseSalary) {
+        try {
+            return (double) formula.invokeExact(baseSalary);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Salary rule '" + name + "' failed", e);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledSalaryCalculator[" + name + "]";
+    }
+}
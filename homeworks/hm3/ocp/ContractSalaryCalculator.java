@@ -1,5 +1,5 @@
-public class ContractSalaryCalculator implements SalaryCalculator {
-    public double calculate(double baseSalary) {
-        return baseSalary * 1.1;
+public class ContractSalaryCalculator implements LinearSalaryCalculator {
+    public double getMultiplier() {
+        return 1.1;
     }
 }
@@ -13,6 +13,10 @@ public class Employee {
         return baseSalary;
     }
 
+    public SalaryCalculator getCalculator() {
+        return calculator;
+    }
+
     public double calculateSalary() {
         return calculator.calculate(baseSalary);
     }
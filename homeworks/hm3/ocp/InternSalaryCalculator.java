@@ -1,5 +1,5 @@
-public class InternSalaryCalculator implements SalaryCalculator {
-    public double calculate(double baseSalary) {
-        return baseSalary * 0.8;
+public class InternSalaryCalculator implements LinearSalaryCalculator {
+    public double getMultiplier() {
+        return 0.8;
     }
 }
@@ -0,0 +1,21 @@
+// Компенсированное суммирование: хранит потерянные младшие разряды отдельно.
+public class KahanSum {
+    private double sum;
+    private double compensation;
+
+    public void add(double value) {
+        double y = value - compensation;
+        double t = sum + y;
+        compensation = (t - sum) - y;
+        sum = t;
+    }
+
+    public void add(KahanSum other) {
+        add(other.sum);
+        add(-other.compensation);
+    }
+
+    public double getSum() {
+        return sum - compensation;
+    }
+}
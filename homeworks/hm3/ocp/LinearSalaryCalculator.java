@@ -0,0 +1,7 @@
+public interface LinearSalaryCalculator extends SalaryCalculator {
+    double getMultiplier();
+
+    default double calculate(double baseSalary) {
+        return baseSalary * getMultiplier();
+    }
+}
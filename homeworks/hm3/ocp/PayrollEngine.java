@@ -0,0 +1,106 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Колоночный расчёт зарплат: базовые оклады лежат в double[], сгруппированные по
+// типу калькулятора. Для линейных калькуляторов множитель применяется простым
+// циклом по массиву, который JIT векторизует; остальные калькуляторы вызываются
+// по одному на элемент, но внутри группы вызов всегда мономорфный.
+public class PayrollEngine {
+    private final Map<Object, Group> groups = new LinkedHashMap<>();
+
+    public void addEmployee(Employee employee) {
+        add(employee.getBaseSalary(), employee.getCalculator());
+    }
+
+    public void add(double baseSalary, SalaryCalculator calculator) {
+        // линейные калькуляторы одного класса с разными множителями считаются отдельно
+        Object key = calculator instanceof LinearSalaryCalculator
+                ? new LinearKey(calculator.getClass(), ((LinearSalaryCalculator) calculator).getMultiplier())
+                : calculator;
+        groups.computeIfAbsent(key, k -> new Group(calculator)).add(baseSalary);
+    }
+
+    public Map<String, Double> calculateTotalsByType() {
+        Map<String, Double> totals = new LinkedHashMap<>();
+        for (Group group : groups.values()) {
+            totals.merge(group.name(), group.calculate(), Double::sum);
+        }
+        return totals;
+    }
+
+    public double calculateTotal() {
+        double total = 0;
+        for (Group group : groups.values()) {
+            total += group.calculate();
+        }
+        return total;
+    }
+
+    public List<double[]> getSalaries() {
+        List<double[]> salaries = new ArrayList<>();
+        for (Group group : groups.values()) {
+            group.calculate();
+            salaries.add(Arrays.copyOf(group.salaries, group.size));
+        }
+        return salaries;
+    }
+
+    private record LinearKey(Class<?> type, double multiplier) { }
+
+    private static class Group {
+        private final SalaryCalculator calculator;
+        private double[] baseSalaries = new double[1024];
+        private double[] salaries = new double[0];
+        private int size;
+
+        private Group(SalaryCalculator calculator) {
+            this.calculator = calculator;
+        }
+
+        private void add(double baseSalary) {
+            if (size == baseSalaries.length) {
+                baseSalaries = Arrays.copyOf(baseSalaries, size * 2);
+            }
+            baseSalaries[size++] = baseSalary;
+        }
+
+        private String name() {
+            // все калькуляторы из правил одного класса, поэтому группу называет правило
+            if (calculator instanceof CompiledSalaryCalculator) {
+                return ((CompiledSalaryCalculator) calculator).getName();
+            }
+            return calculator.getClass().getSimpleName();
+        }
+
+        private double calculate() {
+            if (salaries.length < size) {
+                salaries = new double[baseSalaries.length];
+            }
+            if (calculator instanceof LinearSalaryCalculator) {
+                multiply(baseSalaries, ((LinearSalaryCalculator) calculator).getMultiplier(), salaries, size);
+            } else {
+                for (int i = 0; i < size; i++) {
+                    salaries[i] = calculator.calculate(baseSalaries[i]);
+                }
+            }
+            return sum(salaries, size);
+        }
+
+        private static void multiply(double[] source, double multiplier, double[] target, int length) {
+            for (int i = 0; i < length; i++) {
+                target[i] = source[i] * multiplier;
+            }
+        }
+
+        private static double sum(double[] values, int length) {
+            double total = 0;
+            for (int i = 0; i < length; i++) {
+                total += values[i];
+            }
+            return total;
+        }
+    }
+}
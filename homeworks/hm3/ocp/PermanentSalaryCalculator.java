@@ -1,5 +1,5 @@
-public class PermanentSalaryCalculator implements SalaryCalculator {
-    public double calculate(double baseSalary) {
-        return baseSalary * 1.2;
+public class PermanentSalaryCalculator implements LinearSalaryCalculator {
+    public double getMultiplier() {
+        return 1.2;
     }
 }
@@ -0,0 +1,117 @@
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+
+// Правило — шаги через ';', применяемые по порядку к окладу:
+//   multiply <k>                       оклад * k
+//   add <x>                            оклад + x
+//   cap <x>                            не больше x
+//   floor <x>                          не меньше x
+//   tiers <порог>:<k>, <порог>:<k>...  множитель самого высокого достигнутого порога
+// Пример: senior = multiply 1.5; add 1000; cap 300000
+public class SalaryRuleCompiler {
+    private static final MethodType STEP = MethodType.methodType(double.class, double.class, double.class);
+    private static final MethodHandle MULTIPLY;
+    private static final MethodHandle ADD;
+    private static final MethodHandle CAP;
+    private static final MethodHandle FLOOR;
+    private static final MethodHandle TIERS;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MULTIPLY = lookup.findStatic(SalaryRuleCompiler.class, "multiply", STEP);
+            ADD = lookup.findStatic(SalaryRuleCompiler.class, "add", STEP);
+            CAP = lookup.findStatic(SalaryRuleCompiler.class, "cap", STEP);
+            FLOOR = lookup.findStatic(SalaryRuleCompiler.class, "floor", STEP);
+            TIERS = lookup.findStatic(SalaryRuleCompiler.class, "tiers",
+                    MethodType.methodType(double.class, double[].class, double[].class, double.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public CompiledSalaryCalculator compile(String name, String rule) {
+        MethodHandle formula = MethodHandles.identity(double.class);
+        for (String step : rule.split(";")) {
+            step = step.trim();
+            if (!step.isEmpty()) {
+                formula = MethodHandles.filterReturnValue(formula, compileStep(name, step));
+            }
+        }
+        return new CompiledSalaryCalculator(name, formula);
+    }
+
+    private MethodHandle compileStep(String name, String step) {
+        String[] parts = step.split("\\s+", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Rule '" + name + "': missing argument in '" + step + "'");
+        }
+        String argument = parts[1].trim();
+        switch (parts[0]) {
+            case "multiply":
+                return MethodHandles.insertArguments(MULTIPLY, 0, parseNumber(name, argument));
+            case "add":
+                return MethodHandles.insertArguments(ADD, 0, parseNumber(name, argument));
+            case "cap":
+                return MethodHandles.insertArguments(CAP, 0, parseNumber(name, argument));
+            case "floor":
+                return MethodHandles.insertArguments(FLOOR, 0, parseNumber(name, argument));
+            case "tiers":
+                return compileTiers(name, argument);
+            default:
+                throw new IllegalArgumentException("Rule '" + name + "': unknown step '" + parts[0] + "'");
+        }
+    }
+
+    private MethodHandle compileTiers(String name, String argument) {
+        String[] tiers = argument.split(",");
+        double[] thresholds = new double[tiers.length];
+        double[] multipliers = new double[tiers.length];
+        for (int i = 0; i < tiers.length; i++) {
+            String[] tier = tiers[i].trim().split(":");
+            if (tier.length != 2) {
+                throw new IllegalArgumentException("Rule '" + name + "': invalid tier '" + tiers[i].trim() + "'");
+            }
+            thresholds[i] = parseNumber(name, tier[0]);
+            multipliers[i] = parseNumber(name, tier[1]);
+            if (i > 0 && thresholds[i] <= thresholds[i - 1]) {
+                throw new IllegalArgumentException("Rule '" + name + "': tier thresholds must increase");
+            }
+        }
+        return MethodHandles.insertArguments(TIERS, 0, thresholds, multipliers);
+    }
+
+    private static double parseNumber(String name, String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Rule '" + name + "': not a number '" + value.trim() + "'", e);
+        }
+    }
+
+    private static double multiply(double factor, double value) {
+        return value * factor;
+    }
+
+    private static double add(double amount, double value) {
+        return value + amount;
+    }
+
+    private static double cap(double limit, double value) {
+        return Math.min(value, limit);
+    }
+
+    private static double floor(double limit, double value) {
+        return Math.max(value, limit);
+    }
+
+    private static double tiers(double[] thresholds, double[] multipliers, double value) {
+        int index = Arrays.binarySearch(thresholds, value);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return index < 0 ? value : value * multipliers[index];
+    }
+}
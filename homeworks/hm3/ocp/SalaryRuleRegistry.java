@@ -0,0 +1,46 @@
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+
+// Схемы оплаты из файла правил (формат Properties: имя = правило).
+// reload() перечитывает файл и атомарно подменяет весь набор; если файл
+// содержит ошибку, остаются прежние правила.
+public class SalaryRuleRegistry {
+    private final String rulesFile;
+    private final SalaryRuleCompiler compiler = new SalaryRuleCompiler();
+    private volatile Map<String, CompiledSalaryCalculator> calculators = Collections.emptyMap();
+
+    public SalaryRuleRegistry(String rulesFile) throws IOException {
+        this.rulesFile = rulesFile;
+        reload();
+    }
+
+    public void reload() throws IOException {
+        Properties rules = new Properties();
+        try (InputStream input = new FileInputStream(rulesFile)) {
+            rules.load(input);
+        }
+        Map<String, CompiledSalaryCalculator> compiled = new HashMap<>();
+        for (String name : rules.stringPropertyNames()) {
+            compiled.put(name, compiler.compile(name, rules.getProperty(name)));
+        }
+        calculators = Collections.unmodifiableMap(compiled);
+    }
+
+    public SalaryCalculator get(String name) {
+        SalaryCalculator calculator = calculators.get(name);
+        if (calculator == null) {
+            throw new NoSuchElementException("Salary rule '" + name + "' not found");
+        }
+        return calculator;
+    }
+
+    public Map<String, ? extends SalaryCalculator> getAll() {
+        return calculators;
+    }
+}
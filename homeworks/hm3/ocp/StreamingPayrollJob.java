@@ -0,0 +1,119 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+// Файл сотрудников: строки "<имя>,<оклад>,<тип>", тип — ключ в карте калькуляторов.
+// Файл читается чанками фиксированного размера, чанки считаются в ForkJoinPool,
+// а их суммы складываются строго в порядке чанков. Поэтому итог не зависит от
+// числа потоков, а в памяти одновременно только несколько чанков.
+public class StreamingPayrollJob {
+    private final Map<String, SalaryCalculator> calculators;
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+
+    public StreamingPayrollJob(Map<String, SalaryCalculator> calculators) {
+        this(calculators, 50_000, ForkJoinPool.commonPool());
+    }
+
+    public StreamingPayrollJob(Map<String, SalaryCalculator> calculators, int chunkSize, ForkJoinPool pool) {
+        this.calculators = calculators;
+        this.chunkSize = chunkSize;
+        this.pool = pool;
+    }
+
+    public static Map<String, SalaryCalculator> defaultCalculators() {
+        Map<String, SalaryCalculator> calculators = new HashMap<>();
+        calculators.put("permanent", new PermanentSalaryCalculator());
+        calculators.put("contract", new ContractSalaryCalculator());
+        calculators.put("intern", new InternSalaryCalculator());
+        return calculators;
+    }
+
+    public Map<String, Double> run(Path file) throws IOException {
+        Map<String, KahanSum> totals = new TreeMap<>();
+        Deque<Future<Map<String, KahanSum>>> inFlight = new ArrayDeque<>();
+        int maxInFlight = pool.getParallelism() * 2;
+
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<String> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = in.readLine()) != null) {
+                chunk.add(line);
+                if (chunk.size() == chunkSize) {
+                    List<String> lines = chunk;
+                    inFlight.add(pool.submit(() -> calculate(lines)));
+                    chunk = new ArrayList<>(chunkSize);
+                    while (inFlight.size() >= maxInFlight) {
+                        merge(inFlight.poll(), totals);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                List<String> lines = chunk;
+                inFlight.add(pool.submit(() -> calculate(lines)));
+            }
+            while (!inFlight.isEmpty()) {
+                merge(inFlight.poll(), totals);
+            }
+        } finally {
+            for (Future<Map<String, KahanSum>> pending : inFlight) {
+                pending.cancel(true);
+            }
+        }
+
+        Map<String, Double> result = new TreeMap<>();
+        for (Map.Entry<String, KahanSum> entry : totals.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getSum());
+        }
+        return result;
+    }
+
+    private Map<String, KahanSum> calculate(List<String> lines) {
+        Map<String, KahanSum> sums = new HashMap<>();
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("Invalid employee line: " + line);
+            }
+            String type = fields[2].trim();
+            SalaryCalculator calculator = calculators.get(type);
+            if (calculator == null) {
+                throw new IllegalArgumentException("Unknown salary type: " + type);
+            }
+            double salary = calculator.calculate(Double.parseDouble(fields[1].trim()));
+            sums.computeIfAbsent(type, k -> new KahanSum()).add(salary);
+        }
+        return sums;
+    }
+
+    private static void merge(Future<Map<String, KahanSum>> future, Map<String, KahanSum> totals) throws IOException {
+        Map<String, KahanSum> chunk;
+        try {
+            chunk = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Payroll interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Payroll chunk failed", e.getCause());
+        }
+        // порядок типов внутри чанка не важен: суммы разных типов не смешиваются
+        for (Map.Entry<String, KahanSum> entry : chunk.entrySet()) {
+            totals.computeIfAbsent(entry.getKey(), k -> new KahanSum()).add(entry.getValue());
+        }
+    }
+}
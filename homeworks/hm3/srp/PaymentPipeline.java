@@ -0,0 +1,218 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Асинхронный конвейер платежей. Повторная отправка с тем же ключом идемпотентности
+// возвращает уже существующий future, поэтому платёж не списывается дважды.
+// Ключи хранятся в ограниченном LRU-кэше: ключ, вытесненный из кэша, снова
+// считается новым. Вытесняются только завершённые платежи — ключ платежа в очереди
+// или в обработке остаётся в кэше, даже если кэш временно больше dedupCapacity.
+// Платёж, который точно не прошёл, удаляется из кэша, чтобы его можно было повторить;
+// платёж с неизвестным исходом не повторяется никогда.
+public class PaymentPipeline implements AutoCloseable {
+    private static final int LATENCY_WINDOW = 4096;
+
+    private final PaymentProcessor processor;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final BlockingQueue<PendingPayment> queue = new LinkedBlockingQueue<>();
+    private final Map<String, CompletableFuture<Void>> seenKeys;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    private final long startNanos = System.nanoTime();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private int latencySamples;
+    private int nextLatency;
+
+    public PaymentPipeline(PaymentProcessor processor, int maxBatchSize, long lingerMillis, int dedupCapacity) {
+        this.processor = processor;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.seenKeys = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<Void>> eldest) {
+                Iterator<CompletableFuture<Void>> oldest = values().iterator();
+                while (size() > dedupCapacity && oldest.hasNext() && oldest.next().isDone()) {
+                    oldest.remove();
+                }
+                return false;
+            }
+        };
+        this.worker = new Thread(this::processLoop, "payment-pipeline");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public CompletableFuture<Void> submit(String idempotencyKey, String paymentDetails) {
+        CompletableFuture<Void> payment;
+        synchronized (seenKeys) {
+            CompletableFuture<Void> existing = seenKeys.get(idempotencyKey);
+            if (existing != null) {
+                duplicates.increment();
+                return existing;
+            }
+            if (!running) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Payment pipeline is closed"));
+            }
+            payment = new CompletableFuture<>();
+            seenKeys.put(idempotencyKey, payment);
+            // под той же блокировкой, что и проверка running: close не проскочит между ними
+            queue.add(new PendingPayment(idempotencyKey, paymentDetails, payment));
+        }
+        return payment;
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getDuplicates() {
+        return duplicates.sum();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public double getThroughputPerSecond() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds == 0 ? 0 : completed.sum() / seconds;
+    }
+
+    public synchronized double getLatencyPercentileMillis(double percentile) {
+        if (latencySamples == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, latencySamples);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * latencySamples) - 1;
+        return sorted[Math.max(0, Math.min(latencySamples - 1, index))] / 1e6;
+    }
+
+    @Override
+    public void close() {
+        synchronized (seenKeys) {
+            running = false;
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                worker.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        // рабочий поток мог выйти по прерыванию, не разобрав очередь
+        PendingPayment left;
+        while ((left = queue.poll()) != null) {
+            fail(left, new IllegalStateException("Payment pipeline is closed"));
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void processLoop() {
+        List<PendingPayment> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingPayment first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    PendingPayment next = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    private void process(List<PendingPayment> batch) {
+        List<String> details = new ArrayList<>(batch.size());
+        for (PendingPayment payment : batch) {
+            details.add(payment.details);
+        }
+        List<RuntimeException> errors;
+        try {
+            errors = processor.processPayments(details);
+        } catch (RuntimeException batchError) {
+            // часть платежей могла пройти до сбоя: повторять нельзя, ключи остаются в кэше
+            for (PendingPayment payment : batch) {
+                failed.increment();
+                payment.future.completeExceptionally(
+                        new IllegalStateException("Payment outcome unknown", batchError));
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (errors.get(i) == null) {
+                complete(batch.get(i));
+            } else {
+                fail(batch.get(i), errors.get(i));
+            }
+        }
+    }
+
+    private void complete(PendingPayment payment) {
+        recordLatency(System.nanoTime() - payment.submittedNanos);
+        completed.increment();
+        payment.future.complete(null);
+    }
+
+    private void fail(PendingPayment payment, RuntimeException error) {
+        synchronized (seenKeys) {
+            seenKeys.remove(payment.idempotencyKey, payment.future);
+        }
+        failed.increment();
+        payment.future.completeExceptionally(error);
+    }
+
+    private synchronized void recordLatency(long nanos) {
+        latencies[nextLatency] = nanos;
+        nextLatency = (nextLatency + 1) % LATENCY_WINDOW;
+        if (latencySamples < LATENCY_WINDOW) {
+            latencySamples++;
+        }
+    }
+
+    private static class PendingPayment {
+        private final String idempotencyKey;
+        private final String details;
+        private final CompletableFuture<Void> future;
+        private final long submittedNanos = System.nanoTime();
+
+        private PendingPayment(String idempotencyKey, String details, CompletableFuture<Void> future) {
+            this.idempotencyKey = idempotencyKey;
+            this.details = details;
+            this.future = future;
+        }
+    }
+}
@@ -1,5 +1,23 @@
+import java.util.ArrayList;
+import java.util.List;
+
 public class PaymentProcessor {
     public void processPayment(String paymentDetails) {
         System.out.println("Payment processed using: " + paymentDetails);
     }
+
+    // Результат по каждому платежу: null — проведён, иначе ошибка этого платежа.
+    // Сбой одного платежа не останавливает остальные.
+    public List<RuntimeException> processPayments(List<String> paymentDetails) {
+        List<RuntimeException> errors = new ArrayList<>(paymentDetails.size());
+        for (String details : paymentDetails) {
+            try {
+                processPayment(details);
+                errors.add(null);
+            } catch (RuntimeException e) {
+                errors.add(e);
+            }
+        }
+        return errors;
+    }
 }
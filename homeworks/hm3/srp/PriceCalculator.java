@@ -1,5 +1,59 @@
+import java.util.stream.IntStream;
+
 public class PriceCalculator {
+    private static final long DISCOUNT_NUMERATOR = 9;
+    private static final long DISCOUNT_DENOMINATOR = 10;
+    private static final int CHUNK = 1 << 16;
+
     public double calculateTotal(Order order) {
         return order.getQuantity() * order.getPrice() * 0.9;
     }
+
+    // та же скидка 10%, но в копейках (центах); половина округляется к чётному,
+    // чтобы на сотнях миллионов строк не копилась систематическая ошибка
+    public long calculateLineCents(int quantity, long priceCents) {
+        long gross = Math.multiplyExact(Math.multiplyExact(quantity, priceCents), DISCOUNT_NUMERATOR);
+        long cents = gross >= 0 ? gross / DISCOUNT_DENOMINATOR : Math.floorDiv(gross, DISCOUNT_DENOMINATOR);
+        long twiceRemainder = 2 * (gross - cents * DISCOUNT_DENOMINATOR);
+        // +1, если остаток больше половины или ровно половина при нечётном частном (без ветвлений)
+        return cents + ((DISCOUNT_DENOMINATOR - twiceRemainder - (cents & 1)) >>> 63);
+    }
+
+    public void calculateTotalsCents(int[] quantities, long[] priceCents, long[] totals) {
+        checkLengths(quantities, priceCents);
+        if (totals.length < quantities.length) {
+            throw new IllegalArgumentException("totals is shorter than the batch");
+        }
+        chunks(quantities.length).forEach(chunk -> {
+            int end = Math.min(chunk + CHUNK, quantities.length);
+            for (int i = chunk; i < end; i++) {
+                totals[i] = calculateLineCents(quantities[i], priceCents[i]);
+            }
+        });
+    }
+
+    public long calculateBatchTotalCents(int[] quantities, long[] priceCents) {
+        checkLengths(quantities, priceCents);
+        return chunks(quantities.length)
+                .mapToLong(chunk -> {
+                    int end = Math.min(chunk + CHUNK, quantities.length);
+                    long sum = 0;
+                    for (int i = chunk; i < end; i++) {
+                        sum = Math.addExact(sum, calculateLineCents(quantities[i], priceCents[i]));
+                    }
+                    return sum;
+                })
+                .reduce(0, Math::addExact);
+    }
+
+    private static IntStream chunks(int length) {
+        int count = (length + CHUNK - 1) / CHUNK;
+        return IntStream.range(0, count).parallel().map(chunk -> chunk * CHUNK);
+    }
+
+    private static void checkLengths(int[] quantities, long[] priceCents) {
+        if (quantities.length != priceCents.length) {
+            throw new IllegalArgumentException("quantities and prices differ in length");
+        }
+    }
 }
@@ -0,0 +1,90 @@
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+// Сверка расчёта в копейках с BigDecimal (HALF_EVEN) и замер строк в секунду:
+// пакетный расчёт в копейках против calculateTotal(Order) по объектам в double.
+// Запуск: java PricingBenchmark [строк] [строк для сверки]
+public class PricingBenchmark {
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int checked = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        PriceCalculator calculator = new PriceCalculator();
+
+        boolean ok = crossCheck(calculator, checked);
+        measure(calculator, lines);
+        if (!ok) {
+            System.out.println("ПРОВЕРКА НЕ ПРОЙДЕНА");
+            System.exit(1);
+        }
+    }
+
+    // случайные строки, в том числе отрицательные (возвраты) и с остатком ровно в половину копейки
+    private static boolean crossCheck(PriceCalculator calculator, int count) {
+        SplittableRandom random = new SplittableRandom(7);
+        int[] quantities = new int[count];
+        long[] prices = new long[count];
+        long expectedSum = 0;
+        int mismatches = 0;
+        for (int i = 0; i < count; i++) {
+            quantities[i] = random.nextInt(-1000, 1001);
+            // каждая четвёртая цена кратна 5 копейкам: скидка даёт ровно половину копейки
+            prices[i] = i % 4 == 0 ? random.nextLong(-200_000, 200_001) * 5 : random.nextLong(-1_000_000, 1_000_001);
+            long expected = BigDecimal.valueOf(quantities[i])
+                    .multiply(BigDecimal.valueOf(prices[i]))
+                    .multiply(BigDecimal.valueOf(9))
+                    .divide(BigDecimal.TEN, 0, RoundingMode.HALF_EVEN)
+                    .longValueExact();
+            if (calculator.calculateLineCents(quantities[i], prices[i]) != expected) {
+                if (mismatches++ < 5) {
+                    System.out.println("  расхождение: " + quantities[i] + " x " + prices[i] + " -> ожидалось " + expected);
+                }
+            }
+            expectedSum += expected;
+        }
+        long batchSum = calculator.calculateBatchTotalCents(quantities, prices);
+        boolean ok = mismatches == 0 && batchSum == expectedSum;
+        System.out.println("Сверка с BigDecimal HALF_EVEN: строк " + count + ", расхождений " + mismatches
+                + ", сумма пакета " + (batchSum == expectedSum ? "совпадает" : "не совпадает")
+                + " — " + (ok ? "OK" : "ОШИБКА"));
+        return ok;
+    }
+
+    private static void measure(PriceCalculator calculator, int lines) {
+        SplittableRandom random = new SplittableRandom(42);
+        int[] quantities = new int[lines];
+        long[] prices = new long[lines];
+        Order[] orders = new Order[lines];
+        for (int i = 0; i < lines; i++) {
+            quantities[i] = random.nextInt(1, 100);
+            prices[i] = random.nextLong(1, 1_000_000);
+            orders[i] = new Order("product", quantities[i], prices[i] / 100.0);
+        }
+
+        // лучший из RUNS прогонов; первые прогоны заодно прогревают JIT
+        long bestObjects = Long.MAX_VALUE;
+        long bestCents = Long.MAX_VALUE;
+        double doubleTotal = 0;
+        long centsTotal = 0;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            double total = 0;
+            for (Order order : orders) {
+                total += calculator.calculateTotal(order);
+            }
+            bestObjects = Math.min(bestObjects, System.nanoTime() - start);
+            doubleTotal = total;
+
+            start = System.nanoTime();
+            centsTotal = calculator.calculateBatchTotalCents(quantities, prices);
+            bestCents = Math.min(bestCents, System.nanoTime() - start);
+        }
+
+        System.out.printf("Объекты, double:   %,.0f строк/с (итого %.2f)%n", lines / (bestObjects / 1e9), doubleTotal);
+        System.out.printf("Массивы, копейки:  %,.0f строк/с (итого %d.%02d), ядер %d%n",
+                lines / (bestCents / 1e9), centsTotal / 100, centsTotal % 100,
+                Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -1,64 +1,114 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 interface IVehicle {
     void drive();
     void refuel();
 }
 
+// Общие (разделяемые) характеристики хранятся в одном экземпляре на набор значений,
+// транспортные средства только ссылаются на них. Таблица своя у каждого реестра и
+// ограничена по размеру: когда она полна, новое значение просто не разделяется.
+final class Flyweights {
+    private final Map<Object, Object> table = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    Flyweights(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T intern(T value) {
+        Object existing = table.get(value);
+        if (existing == null && table.size() < capacity) {
+            existing = table.putIfAbsent(value, value);
+        }
+        return existing == null ? value : (T) existing;
+    }
+}
+
+record CarSpec(String brand, String model, String fuelType) {
+}
+
+record MotorcycleSpec(String type, double engineVolume) {
+}
+
+record TruckSpec(double loadCapacity, int axlesCount) {
+}
+
+record BusRoute(int capacity, String routeNumber) {
+}
+
 class Car implements IVehicle {
-    private String brand;
-    private String model;
-    private String fuelType;
+    final CarSpec spec;
 
     public Car(String brand, String model, String fuelType) {
-        this.brand = brand;
-        this.model = model;
-        this.fuelType = fuelType;
+        this(new CarSpec(brand, model, fuelType));
+    }
+
+    Car(CarSpec spec) {
+        this.spec = spec;
     }
 
     @Override
     public void drive() {
-        System.out.println("Автомобиль " + brand + " " + model + " едет. Использует " + fuelType + ".");
+        System.out.println("Автомобиль " + spec.brand() + " " + spec.model() + " едет. Использует " + spec.fuelType() + ".");
     }
 
     @Override
     public void refuel() {
-        System.out.println("Заправка автомобиля " + brand + " " + model + " топливом: " + fuelType + ".");
+        System.out.println("Заправка автомобиля " + spec.brand() + " " + spec.model() + " топливом: " + spec.fuelType() + ".");
     }
 }
 
 class Motorcycle implements IVehicle {
-    private String type;
-    private double engineVolume;
+    final MotorcycleSpec spec;
 
     public Motorcycle(String type, double engineVolume) {
-        this.type = type;
-        this.engineVolume = engineVolume;
+        this(new MotorcycleSpec(type, engineVolume));
+    }
+
+    Motorcycle(MotorcycleSpec spec) {
+        this.spec = spec;
     }
 
     @Override
     public void drive() {
-        System.out.println("Мотоцикл (" + type + ") с объемом двигателя " + engineVolume + " л едет.");
+        System.out.println("Мотоцикл (" + spec.type() + ") с объемом двигателя " + spec.engineVolume() + " л едет.");
     }
 
     @Override
     public void refuel() {
-        System.out.println("Заправка мотоцикла (" + type + ").");
+        System.out.println("Заправка мотоцикла (" + spec.type() + ").");
     }
 }
 
 class Truck implements IVehicle {
-    private double loadCapacity;
-    private int axlesCount;
+    final TruckSpec spec;
 
     public Truck(double loadCapacity, int axlesCount) {
-        this.loadCapacity = loadCapacity;
-        this.axlesCount = axlesCount;
+        this(new TruckSpec(loadCapacity, axlesCount));
+    }
+
+    Truck(TruckSpec spec) {
+        this.spec = spec;
     }
 
     @Override
     public void drive() {
-        System.out.println("Грузовик грузоподъемностью " + loadCapacity + " т с " + axlesCount + " осями едет.");
+        System.out.println("Грузовик грузоподъемностью " + spec.loadCapacity() + " т с " + spec.axlesCount() + " осями едет.");
     }
 
     @Override
@@ -68,93 +118,436 @@ class Truck implements IVehicle {
 }
 
 class Bus implements IVehicle {
-    private int capacity;
-    private String routeNumber;
+    final BusRoute route;
 
     public Bus(int capacity, String routeNumber) {
-        this.capacity = capacity;
-        this.routeNumber = routeNumber;
+        this(new BusRoute(capacity, routeNumber));
+    }
+
+    Bus(BusRoute route) {
+        this.route = route;
     }
 
     @Override
     public void drive() {
-        System.out.println("Автобус маршрута " + routeNumber + " вместимостью " + capacity + " чел. едет.");
+        System.out.println("Автобус маршрута " + route.routeNumber() + " вместимостью " + route.capacity() + " чел. едет.");
     }
 
     @Override
     public void refuel() {
-        System.out.println("Заправка автобуса на маршруте " + routeNumber + ".");
+        System.out.println("Заправка автобуса на маршруте " + route.routeNumber() + ".");
     }
 }
 
 abstract class VehicleFactory {
+    private volatile IVehicle shared;
+
     public abstract IVehicle createVehicle();
+
+    // Транспорт неизменяем, поэтому там, где отдельный объект не нужен, достаточно
+    // одного общего экземпляра на фабрику (то есть на набор характеристик).
+    // При гонке может создаться лишний экземпляр — это безопасно, все они одинаковы.
+    public IVehicle sharedVehicle() {
+        IVehicle vehicle = shared;
+        if (vehicle == null) {
+            vehicle = createVehicle();
+            shared = vehicle;
+        }
+        return vehicle;
+    }
 }
 
 class CarFactory extends VehicleFactory {
-    private String brand;
-    private String model;
-    private String fuelType;
+    private final CarSpec spec;
 
     public CarFactory(String brand, String model, String fuelType) {
-        this.brand = brand;
-        this.model = model;
-        this.fuelType = fuelType;
+        this(new CarSpec(brand, model, fuelType));
+    }
+
+    CarFactory(CarSpec spec) {
+        this.spec = spec;
     }
 
     @Override
     public IVehicle createVehicle() {
-        return new Car(brand, model, fuelType);
+        return new Car(spec);
     }
 }
 
 class MotorcycleFactory extends VehicleFactory {
-    private String type;
-    private double engineVolume;
+    private final MotorcycleSpec spec;
 
     public MotorcycleFactory(String type, double engineVolume) {
-        this.type = type;
-        this.engineVolume = engineVolume;
+        this(new MotorcycleSpec(type, engineVolume));
+    }
+
+    MotorcycleFactory(MotorcycleSpec spec) {
+        this.spec = spec;
     }
 
     @Override
     public IVehicle createVehicle() {
-        return new Motorcycle(type, engineVolume);
+        return new Motorcycle(spec);
     }
 }
 
 class TruckFactory extends VehicleFactory {
-    private double loadCapacity;
-    private int axlesCount;
+    private final TruckSpec spec;
 
     public TruckFactory(double loadCapacity, int axlesCount) {
-        this.loadCapacity = loadCapacity;
-        this.axlesCount = axlesCount;
+        this(new TruckSpec(loadCapacity, axlesCount));
+    }
+
+    TruckFactory(TruckSpec spec) {
+        this.spec = spec;
     }
 
     @Override
     public IVehicle createVehicle() {
-        return new Truck(loadCapacity, axlesCount);
+        return new Truck(spec);
     }
 }
 
 class BusFactory extends VehicleFactory {
-    private int capacity;
-    private String routeNumber;
+    private final BusRoute route;
 
     public BusFactory(int capacity, String routeNumber) {
-        this.capacity = capacity;
-        this.routeNumber = routeNumber;
+        this(new BusRoute(capacity, routeNumber));
+    }
+
+    BusFactory(BusRoute route) {
+        this.route = route;
     }
 
     @Override
     public IVehicle createVehicle() {
-        return new Bus(capacity, routeNumber);
+        return new Bus(route);
+    }
+}
+
+// Симулятор парка: состояние хранится в параллельных массивах (номер машины — индекс),
+// такт обновляет их кусками параллельно. Машина с топливом ниже резерва останавливается
+// и встаёт в очередь на заправку; первыми заправляются те, у кого топлива меньше.
+class FleetSimulator {
+    static final byte CAR = 0;
+    static final byte MOTORCYCLE = 1;
+    static final byte TRUCK = 2;
+    static final byte BUS = 3;
+
+    // по видам: скорость (км/ч), расход (л/км), бак (л), рост расхода при полной загрузке
+    private static final float[] SPEED = {60f, 70f, 50f, 40f};
+    private static final float[] CONSUMPTION = {0.08f, 0.05f, 0.30f, 0.25f};
+    private static final float[] TANK = {50f, 15f, 400f, 250f};
+    private static final float[] LOAD_PENALTY = {0.1f, 0.1f, 0.5f, 0.3f};
+
+    private static final float RESERVE = 0.1f;
+    private static final int CHUNK = 1 << 16;
+
+    private byte[] kinds;
+    private float[] fuel;
+    private double[] position;
+    // загрузка как доля от вместимости, 0..1
+    private float[] load;
+    private boolean[] waiting;
+    private int size;
+
+    private final int refuelsPerTick;
+    private int[] refuelHeap = new int[1024];
+    private int queued;
+
+    private int[][] pending = new int[0][];
+    private int[] pendingCounts = new int[0];
+
+    public FleetSimulator(int initialCapacity, int refuelsPerTick) {
+        if (refuelsPerTick <= 0) {
+            // иначе очередь на заправку только растёт и машины встают навсегда
+            throw new IllegalArgumentException("Число заправок за такт должно быть положительным: " + refuelsPerTick);
+        }
+        kinds = new byte[initialCapacity];
+        fuel = new float[initialCapacity];
+        position = new double[initialCapacity];
+        load = new float[initialCapacity];
+        waiting = new boolean[initialCapacity];
+        this.refuelsPerTick = refuelsPerTick;
+    }
+
+    public int add(IVehicle vehicle, float loadRatio) {
+        if (size == kinds.length) {
+            grow();
+        }
+        byte kind = kindOf(vehicle);
+        int id = size++;
+        kinds[id] = kind;
+        fuel[id] = TANK[kind];
+        load[id] = Math.max(0f, Math.min(1f, loadRatio));
+        return id;
+    }
+
+    // один такт длиной dtHours; возвращает число заправленных машин
+    public int tick(double dtHours) {
+        int chunks = (size + CHUNK - 1) / CHUNK;
+        if (pending.length < chunks) {
+            pending = Arrays.copyOf(pending, chunks);
+            pendingCounts = Arrays.copyOf(pendingCounts, chunks);
+        }
+        IntStream.range(0, chunks).parallel().forEach(chunk -> advance(chunk, (float) dtHours));
+
+        // очередь общая, поэтому наполняем её после параллельной части
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int[] ids = pending[chunk];
+            for (int i = 0; i < pendingCounts[chunk]; i++) {
+                push(ids[i]);
+            }
+        }
+        return refuel();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int queuedForRefuel() {
+        return queued;
+    }
+
+    public float getFuel(int id) {
+        return fuel[id];
+    }
+
+    public double getPosition(int id) {
+        return position[id];
+    }
+
+    public boolean isWaiting(int id) {
+        return waiting[id];
+    }
+
+    private void advance(int chunk, float dtHours) {
+        int from = chunk * CHUNK;
+        int to = Math.min(from + CHUNK, size);
+        int[] ids = pending[chunk];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (waiting[i]) {
+                continue;
+            }
+            byte kind = kinds[i];
+            float distance = SPEED[kind] * dtHours;
+            float burn = distance * CONSUMPTION[kind] * (1f + LOAD_PENALTY[kind] * load[i]);
+            float left = fuel[i];
+            if (burn > left) {
+                // топлива хватает только на часть пути
+                distance *= left / burn;
+                burn = left;
+            }
+            position[i] += distance;
+            fuel[i] = left - burn;
+            if (fuel[i] < TANK[kind] * RESERVE) {
+                waiting[i] = true;
+                if (ids == null || count == ids.length) {
+                    ids = ids == null ? new int[256] : Arrays.copyOf(ids, count * 2);
+                }
+                ids[count++] = i;
+            }
+        }
+        pending[chunk] = ids;
+        pendingCounts[chunk] = count;
+    }
+
+    private int refuel() {
+        int served = 0;
+        while (served < refuelsPerTick && queued > 0) {
+            int id = pop();
+            fuel[id] = TANK[kinds[id]];
+            waiting[id] = false;
+            served++;
+        }
+        return served;
+    }
+
+    // Двоичная куча номеров машин по уровню топлива. Пока машина в очереди, она стоит,
+    // поэтому её ключ не меняется и порядок кучи не нарушается.
+    private void push(int id) {
+        if (queued == refuelHeap.length) {
+            refuelHeap = Arrays.copyOf(refuelHeap, queued * 2);
+        }
+        int i = queued++;
+        float key = fuel[id];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (fuel[refuelHeap[parent]] <= key) {
+                break;
+            }
+            refuelHeap[i] = refuelHeap[parent];
+            i = parent;
+        }
+        refuelHeap[i] = id;
+    }
+
+    private int pop() {
+        int top = refuelHeap[0];
+        int last = refuelHeap[--queued];
+        float key = fuel[last];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= queued) {
+                break;
+            }
+            if (child + 1 < queued && fuel[refuelHeap[child + 1]] < fuel[refuelHeap[child]]) {
+                child++;
+            }
+            if (fuel[refuelHeap[child]] >= key) {
+                break;
+            }
+            refuelHeap[i] = refuelHeap[child];
+            i = child;
+        }
+        refuelHeap[i] = last;
+        return top;
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, kinds.length * 2);
+        kinds = Arrays.copyOf(kinds, capacity);
+        fuel = Arrays.copyOf(fuel, capacity);
+        position = Arrays.copyOf(position, capacity);
+        load = Arrays.copyOf(load, capacity);
+        waiting = Arrays.copyOf(waiting, capacity);
+    }
+
+    private static byte kindOf(IVehicle vehicle) {
+        if (vehicle instanceof Car) {
+            return CAR;
+        }
+        if (vehicle instanceof Motorcycle) {
+            return MOTORCYCLE;
+        }
+        if (vehicle instanceof Truck) {
+            return TRUCK;
+        }
+        if (vehicle instanceof Bus) {
+            return BUS;
+        }
+        throw new IllegalArgumentException("Неизвестный вид транспорта: " + vehicle.getClass().getSimpleName());
+    }
+}
+
+class VehicleType {
+    private final String name;
+    private final String[] prompts;
+    private final Function<String[], VehicleFactory> creator;
+
+    public VehicleType(String name, String[] prompts, Function<String[], VehicleFactory> creator) {
+        this.name = name;
+        this.prompts = prompts;
+        this.creator = creator;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String[] getPrompts() {
+        return prompts;
+    }
+
+    public VehicleFactory createFactory(String[] params) {
+        if (params.length != prompts.length) {
+            throw new IllegalArgumentException("Для типа " + name + " нужно параметров: " + prompts.length);
+        }
+        return creator.apply(params);
+    }
+}
+
+class VehicleFactoryRegistry {
+    private static final int FACTORY_CACHE_SIZE = 1024;
+    private static final int FLYWEIGHT_TABLE_SIZE = 1024;
+
+    private final Map<String, VehicleType> types = new LinkedHashMap<>();
+    // фабрики с одинаковыми параметрами создаются один раз и переиспользуются;
+    // кэш ограничен: когда он полон, фабрика для новых параметров создаётся без кэширования
+    private final Map<String, VehicleFactory> factories = new ConcurrentHashMap<>();
+    private final Flyweights flyweights = new Flyweights(FLYWEIGHT_TABLE_SIZE);
+
+    public static VehicleFactoryRegistry withDefaults() {
+        VehicleFactoryRegistry registry = new VehicleFactoryRegistry();
+        registry.register(new VehicleType("car",
+                new String[] {"Введите марку: ", "Введите модель: ", "Введите тип топлива: "},
+                p -> new CarFactory(registry.flyweights.intern(new CarSpec(p[0], p[1], p[2])))));
+        registry.register(new VehicleType("motorcycle",
+                new String[] {"Введите тип (спортивный/туристический): ", "Введите объем двигателя (л): "},
+                p -> new MotorcycleFactory(registry.flyweights.intern(
+                        new MotorcycleSpec(p[0], Double.parseDouble(p[1]))))));
+        registry.register(new VehicleType("truck",
+                new String[] {"Введите грузоподъемность (т): ", "Введите количество осей: "},
+                p -> new TruckFactory(registry.flyweights.intern(
+                        new TruckSpec(Double.parseDouble(p[0]), Integer.parseInt(p[1]))))));
+        registry.register(new VehicleType("bus",
+                new String[] {"Введите вместимость (чел): ", "Введите номер маршрута: "},
+                p -> new BusFactory(registry.flyweights.intern(
+                        new BusRoute(Integer.parseInt(p[0]), p[1])))));
+        return registry;
+    }
+
+    public void register(VehicleType type) {
+        types.put(type.getName(), type);
+    }
+
+    public VehicleType getType(String name) {
+        return types.get(name);
+    }
+
+    public VehicleFactory getFactory(String type, String[] params) {
+        VehicleType vehicleType = types.get(type);
+        if (vehicleType == null) {
+            throw new IllegalArgumentException("Неизвестный тип транспорта: " + type);
+        }
+        String key = type + ":" + String.join(",", params);
+        VehicleFactory factory = factories.get(key);
+        if (factory != null) {
+            return factory;
+        }
+        factory = vehicleType.createFactory(params);
+        if (factories.size() < FACTORY_CACHE_SIZE) {
+            VehicleFactory existing = factories.putIfAbsent(key, factory);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return factory;
+    }
+
+    // строка спецификации: тип,параметр1,параметр2,...
+    public IVehicle create(String spec) {
+        return factoryFor(spec).createVehicle();
+    }
+
+    public VehicleFactory factoryFor(String spec) {
+        String[] fields = spec.split(",");
+        String[] params = new String[fields.length - 1];
+        for (int i = 1; i < fields.length; i++) {
+            params[i - 1] = fields[i].trim();
+        }
+        return getFactory(fields[0].trim().toLowerCase(), params);
     }
 }
 
 public class Main {
-    public static void main(String[] args) {
+    private static final int MAX_REPORTED_LINES = 20;
+
+    public static void main(String[] args) throws IOException {
+        VehicleFactoryRegistry registry = VehicleFactoryRegistry.withDefaults();
+
+        if (args.length >= 2 && args[0].equals("--batch")) {
+            runBatch(registry, args[1], args.length > 2 && args[2].equals("--shared"));
+            return;
+        }
+        if (args.length >= 2 && args[0].equals("--simulate")) {
+            runSimulation(Integer.parseInt(args[1]), args.length > 2 ? Integer.parseInt(args[2]) : 10);
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
         System.out.println("=== Система создания транспортных средств ===");
 
@@ -166,45 +559,20 @@ public class Main {
                 break;
             }
 
-            VehicleFactory factory = null;
-
-            switch (type) {
-                case "car":
-                    System.out.print("Введите марку: ");
-                    String brand = scanner.nextLine();
-                    System.out.print("Введите модель: ");
-                    String model = scanner.nextLine();
-                    System.out.print("Введите тип топлива: ");
-                    String fuel = scanner.nextLine();
-                    factory = new CarFactory(brand, model, fuel);
-                    break;
-                case "motorcycle":
-                    System.out.print("Введите тип (спортивный/туристический): ");
-                    String bikeType = scanner.nextLine();
-                    System.out.print("Введите объем двигателя (л): ");
-                    double volume = Double.parseDouble(scanner.nextLine());
-                    factory = new MotorcycleFactory(bikeType, volume);
-                    break;
-                case "truck":
-                    System.out.print("Введите грузоподъемность (т): ");
-                    double capacity = Double.parseDouble(scanner.nextLine());
-                    System.out.print("Введите количество осей: ");
-                    int axles = Integer.parseInt(scanner.nextLine());
-                    factory = new TruckFactory(capacity, axles);
-                    break;
-                case "bus":
-                    System.out.print("Введите вместимость (чел): ");
-                    int busCapacity = Integer.parseInt(scanner.nextLine());
-                    System.out.print("Введите номер маршрута: ");
-                    String route = scanner.nextLine();
-                    factory = new BusFactory(busCapacity, route);
-                    break;
-                default:
-                    System.out.println("Неизвестный тип транспорта.");
-                    continue;
+            VehicleType vehicleType = registry.getType(type);
+            if (vehicleType == null) {
+                System.out.println("Неизвестный тип транспорта.");
+                continue;
+            }
+
+            String[] prompts = vehicleType.getPrompts();
+            String[] params = new String[prompts.length];
+            for (int i = 0; i < prompts.length; i++) {
+                System.out.print(prompts[i]);
+                params[i] = scanner.nextLine();
             }
 
-            IVehicle vehicle = factory.createVehicle();
+            IVehicle vehicle = registry.getFactory(type, params).createVehicle();
             vehicle.drive();
             vehicle.refuel();
         }
@@ -212,4 +580,69 @@ public class Main {
         scanner.close();
         System.out.println("Программа завершена.");
     }
+
+    private static void runBatch(VehicleFactoryRegistry registry, String specFile, boolean shared) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(specFile), StandardCharsets.UTF_8);
+        Map<String, LongAdder> created = new ConcurrentHashMap<>();
+        // номер строки -> причина; битая строка пропускается и не прерывает остальные
+        Map<Integer, String> skipped = new ConcurrentSkipListMap<>();
+        long start = System.nanoTime();
+        IntStream.range(0, lines.size()).parallel().forEach(i -> {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                return;
+            }
+            VehicleFactory factory;
+            try {
+                factory = registry.factoryFor(line);
+            } catch (IllegalArgumentException e) {
+                skipped.put(i + 1, line.trim() + " — " + e.getMessage());
+                return;
+            }
+            IVehicle vehicle = shared ? factory.sharedVehicle() : factory.createVehicle();
+            created.computeIfAbsent(vehicle.getClass().getSimpleName(), k -> new LongAdder()).increment();
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long total = 0;
+        for (Map.Entry<String, LongAdder> entry : created.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue().sum());
+            total += entry.getValue().sum();
+        }
+        System.out.printf("Создано %d транспортных средств за %.2f с (%.0f шт/с)%n", total, seconds, total / seconds);
+        if (!skipped.isEmpty()) {
+            System.out.println("Пропущено строк: " + skipped.size());
+            int shown = 0;
+            for (Map.Entry<Integer, String> entry : skipped.entrySet()) {
+                if (shown++ == MAX_REPORTED_LINES) {
+                    System.out.println("  ...");
+                    break;
+                }
+                System.out.println("  строка " + entry.getKey() + ": " + entry.getValue());
+            }
+        }
+    }
+
+    private static void runSimulation(int count, int ticks) {
+        VehicleFactory[] factories = {
+                new CarFactory("Toyota", "Camry", "бензин"),
+                new MotorcycleFactory("спортивный", 1.0),
+                new TruckFactory(20, 3),
+                new BusFactory(50, "12А")
+        };
+        FleetSimulator simulator = new FleetSimulator(count, Math.max(1, count / 100));
+        for (int i = 0; i < count; i++) {
+            VehicleFactory factory = factories[i % factories.length];
+            // сами объекты не нужны, состояние хранит симулятор — хватает общего экземпляра
+            simulator.add(factory.sharedVehicle(), (i % 10) / 10f);
+        }
+
+        for (int tick = 1; tick <= ticks; tick++) {
+            long start = System.nanoTime();
+            int refueled = simulator.tick(0.25);
+            double millis = (System.nanoTime() - start) / 1e6;
+            System.out.printf("Такт %d: %.1f мс, заправлено %d, в очереди %d%n",
+                    tick, millis, refueled, simulator.queuedForRefuel());
+        }
+    }
 }
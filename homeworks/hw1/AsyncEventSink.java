@@ -0,0 +1,143 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+// Кольцевой буфер: производители занимают слот через CAS по tail,
+// единственный фоновый поток вычитывает слоты по head и передаёт события потребителю.
+// Без событий поток сначала крутится, потом уступает процессор и наконец засыпает,
+// пока его не разбудит производитель.
+public class AsyncEventSink implements LibraryEventSink, AutoCloseable {
+    private static final int SPIN_ROUNDS = 100;
+    private static final int YIELD_ROUNDS = 200;
+    private final AtomicReferenceArray<LibraryEvent> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder consumerErrors = new LongAdder();
+
+    private final Consumer<LibraryEvent> consumer;
+    private final Thread drainer;
+    private final Thread shutdownHook;
+    private volatile boolean running = true;
+    private volatile boolean drainerParked;
+
+    // общий консольный приёмник для библиотек, созданных без своего
+    public static AsyncEventSink shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    public AsyncEventSink(Consumer<LibraryEvent> consumer) {
+        this(consumer, 1 << 16);
+    }
+
+    public AsyncEventSink(Consumer<LibraryEvent> consumer, int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ёмкость должна быть степенью двойки: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.consumer = consumer;
+        this.drainer = new Thread(this::drainLoop, "library-events");
+        drainer.setDaemon(true);
+        drainer.start();
+        shutdownHook = new Thread(this::close);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    @Override
+    public void publish(LibraryEvent event) {
+        long slot;
+        do {
+            slot = tail.get();
+            if (slot - head >= slots.length()) {
+                // буфер полон — горячий путь не блокируем, событие теряется
+                dropped.increment();
+                return;
+            }
+        } while (!tail.compareAndSet(slot, slot + 1));
+        // запись volatile: вместе с проверкой флага она не даёт потерять пробуждение
+        slots.set((int) (slot & mask), event);
+        if (drainerParked) {
+            LockSupport.unpark(drainer);
+        }
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getConsumerErrors() {
+        return consumerErrors.sum();
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // JVM уже завершается, хук снимать поздно
+            }
+        }
+    }
+
+    private void drainLoop() {
+        int idleRounds = 0;
+        while (running || head < tail.get()) {
+            if (drainAvailable()) {
+                idleRounds = 0;
+            } else if (idleRounds < SPIN_ROUNDS) {
+                idleRounds++;
+                Thread.onSpinWait();
+            } else if (idleRounds < YIELD_ROUNDS) {
+                idleRounds++;
+                Thread.yield();
+            } else {
+                drainerParked = true;
+                if (running && slots.get((int) (head & mask)) == null) {
+                    LockSupport.park(this);
+                }
+                drainerParked = false;
+            }
+        }
+    }
+
+    private boolean drainAvailable() {
+        boolean drained = false;
+        long next = head;
+        while (true) {
+            int index = (int) (next & mask);
+            LibraryEvent event = slots.get(index);
+            if (event == null) {
+                // слот занят, но производитель ещё не записал событие
+                break;
+            }
+            slots.lazySet(index, null);
+            head = ++next;
+            drained = true;
+            try {
+                consumer.accept(event);
+            } catch (RuntimeException e) {
+                consumerErrors.increment();
+            }
+        }
+        return drained;
+    }
+
+    private static class SharedHolder {
+        private static final AsyncEventSink INSTANCE = new AsyncEventSink(System.out::println);
+    }
+}
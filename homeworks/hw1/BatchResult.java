@@ -0,0 +1,50 @@
+public class BatchResult {
+    private final long[] successBits;
+    // 0 — успех, иначе порядковый номер причины отказа + 1
+    private final byte[] failures;
+    private int successCount;
+
+    public BatchResult(int size) {
+        this.successBits = new long[(size + 63) >>> 6];
+        this.failures = new byte[size];
+    }
+
+    void markSuccess(int index) {
+        successBits[index >>> 6] |= 1L << index;
+        successCount++;
+    }
+
+    void markFailure(int index, LibraryEvent.RejectReason reason) {
+        failures[index] = (byte) (reason.ordinal() + 1);
+    }
+
+    public boolean isSuccess(int index) {
+        return (successBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public LibraryEvent.RejectReason getFailure(int index) {
+        int code = failures[index];
+        return code == 0 ? null : LibraryEvent.RejectReason.values()[code - 1];
+    }
+
+    public long[] getSuccessBits() {
+        return successBits.clone();
+    }
+
+    public int size() {
+        return failures.length;
+    }
+
+    public int getSuccessCount() {
+        return successCount;
+    }
+
+    public int getFailureCount() {
+        return failures.length - successCount;
+    }
+
+    @Override
+    public String toString() {
+        return "Успешно: " + successCount + " из " + failures.length;
+    }
+}
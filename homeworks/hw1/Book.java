@@ -1,14 +1,29 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class Book {
     private String title;
     private String author;
     private String isbn;
-    private int copies;
+    private final AtomicInteger copies;
 
     public Book(String title, String author, String isbn, int copies) {
         this.title = title;
         this.author = author;
         this.isbn = isbn;
-        this.copies = copies;
+        this.copies = new AtomicInteger(copies);
+    }
+
+    // для представлений, которые читают данные из внешнего хранилища
+    protected Book() {
+        this.copies = null;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getAuthor() {
+        return author;
     }
 
     public String getIsbn() {
@@ -16,21 +31,27 @@ public class Book {
     }
 
     public int getCopies() {
-        return copies;
+        return copies.get();
     }
 
-    public void decreaseCopies() {
-        if (copies > 0) {
-            copies--;
+    public boolean decreaseCopies() {
+        while (true) {
+            int current = copies.get();
+            if (current <= 0) {
+                return false;
+            }
+            if (copies.compareAndSet(current, current - 1)) {
+                return true;
+            }
         }
     }
 
     public void increaseCopies() {
-        copies++;
+        copies.incrementAndGet();
     }
 
     @Override
     public String toString() {
-        return title + " — " + author + " (ISBN: " + isbn + "), экземпляров: " + copies;
+        return getTitle() + " — " + getAuthor() + " (ISBN: " + getIsbn() + "), экземпляров: " + getCopies();
     }
 }
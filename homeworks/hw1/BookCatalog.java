@@ -0,0 +1,10 @@
+public interface BookCatalog {
+    // возвращает предыдущую книгу с тем же ISBN или null
+    Book put(Book book);
+
+    Book get(String isbn);
+
+    Book remove(String isbn);
+
+    int size();
+}
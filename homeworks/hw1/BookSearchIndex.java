@@ -0,0 +1,75 @@
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Поиск читает индекс без блокировок. Изменяет индекс один писатель за раз: compute
+// у ConcurrentSkipListMap не атомарен, и без этого добавление могло попасть в набор,
+// который параллельное удаление уже признало пустым и убрало из индекса.
+public class BookSearchIndex {
+    private final NavigableMap<String, Set<String>> isbnsByToken = new ConcurrentSkipListMap<>();
+
+    public synchronized void add(Book book) {
+        for (String token : tokenize(book.getTitle() + " " + book.getAuthor())) {
+            isbnsByToken.compute(token, (k, isbns) -> {
+                Set<String> set = isbns == null ? ConcurrentHashMap.newKeySet() : isbns;
+                set.add(book.getIsbn());
+                return set;
+            });
+        }
+    }
+
+    public synchronized void remove(Book book) {
+        for (String token : tokenize(book.getTitle() + " " + book.getAuthor())) {
+            isbnsByToken.computeIfPresent(token, (k, isbns) -> {
+                isbns.remove(book.getIsbn());
+                return isbns.isEmpty() ? null : isbns;
+            });
+        }
+    }
+
+    public Set<String> findByToken(String token) {
+        Set<String> isbns = isbnsByToken.get(token.toLowerCase(Locale.ROOT));
+        return isbns == null ? Collections.emptySet() : new HashSet<>(isbns);
+    }
+
+    public Set<String> findByPrefix(String prefix) {
+        String from = prefix.toLowerCase(Locale.ROOT);
+        Set<String> result = new HashSet<>();
+        for (Set<String> isbns : isbnsByToken.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+            result.addAll(isbns);
+        }
+        return result;
+    }
+
+    // каждое слово запроса ищется как префикс, результат — пересечение
+    public Set<String> search(String query) {
+        Set<String> result = null;
+        for (String token : tokenize(query)) {
+            Set<String> matches = findByPrefix(token);
+            if (result == null) {
+                result = matches;
+            } else {
+                result.retainAll(matches);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result == null ? Collections.emptySet() : result;
+    }
+
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new HashSet<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,432 @@
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Каталог в виде параллельных массивов: книга — это номер слота, а не отдельный объект.
+// Авторы хранятся в словаре, цифровые ISBN (ISBN-10/13) упакованы в long и служат ключом индекса.
+//
+// Изменяет каталог один писатель за раз, читатели и представления книг блокировок не берут:
+// - массивы разбиты на куски постоянного размера, куски не перемещаются, а новый
+//   список кусков публикуется через volatile-поле;
+// - в слоте хранится long «поколение << 32 | экземпляры», поэтому CAS по экземплярам
+//   заодно проверяет, что слот не освободили и не отдали другой книге;
+// - индекс читается без блокировки под счётчиком версий (seqlock); состояние слота
+//   читается внутри той же проверки, чтобы поиск и поколение относились к одной книге.
+// Освобождённые слоты попадают в список свободных и переиспользуются с новым поколением.
+public class CompactBookCatalog implements BookCatalog {
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile Chunk[] chunks;
+    private volatile String[] authors = new String[16];
+    private volatile int size;
+
+    // поля ниже меняет только писатель под монитором каталога
+    private int nextSlot;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int authorCount;
+    private final Map<String, Integer> authorDictionary = new HashMap<>();
+
+    private final LongIntIndex packedIndex = new LongIntIndex();
+    private final Map<String, Integer> otherIndex = new ConcurrentHashMap<>();
+
+    public CompactBookCatalog() {
+        this(1024);
+    }
+
+    public CompactBookCatalog(int initialCapacity) {
+        Chunk[] initial = new Chunk[Math.max(1, (initialCapacity + CHUNK_SIZE - 1) >>> CHUNK_BITS)];
+        for (int i = 0; i < initial.length; i++) {
+            initial[i] = new Chunk();
+        }
+        chunks = initial;
+    }
+
+    @Override
+    public synchronized Book put(Book book) {
+        String isbn = book.getIsbn();
+        int slot = slotOf(isbn);
+        Book previous = null;
+        boolean added = slot < 0;
+        if (added) {
+            slot = allocateSlot();
+        } else {
+            previous = detach(slot, isbn);
+        }
+        Chunk chunk = chunk(slot);
+        int index = slot & CHUNK_MASK;
+        chunk.titles[index] = book.getTitle();
+        chunk.authorIds[index] = authorId(book.getAuthor());
+        // volatile-запись состояния публикует название и автора вместе с экземплярами
+        chunk.states.set(index, state(generation(chunk.states.get(index)), book.getCopies()));
+        if (added) {
+            // в индекс слот попадает только заполненным
+            long code = pack(isbn);
+            if (code != 0) {
+                packedIndex.put(code, slot);
+            } else {
+                otherIndex.put(isbn, slot);
+            }
+            size++;
+        }
+        return previous;
+    }
+
+    // Без монитора каталога. Слот мог освободиться и достаться другой книге между
+    // поиском и чтением поколения, поэтому чтение повторяется, пока оба не согласованы.
+    @Override
+    public Book get(String isbn) {
+        long code = pack(isbn);
+        while (true) {
+            int slot;
+            long state = 0;
+            if (code != 0) {
+                int version = packedIndex.beginRead();
+                slot = packedIndex.get(code);
+                if (slot >= 0) {
+                    state = stateOf(slot);
+                }
+                if (!packedIndex.validate(version)) {
+                    continue;
+                }
+            } else {
+                Integer found = otherIndex.get(isbn);
+                slot = found == null ? -1 : found;
+                if (slot >= 0) {
+                    state = stateOf(slot);
+                    // ключ всё ещё указывает на этот слот, и поколение за это время не менялось
+                    if (!found.equals(otherIndex.get(isbn)) || generation(stateOf(slot)) != generation(state)) {
+                        continue;
+                    }
+                }
+            }
+            return slot < 0 ? null : new BookView(slot, generation(state), isbn);
+        }
+    }
+
+    @Override
+    public synchronized Book remove(String isbn) {
+        int slot = slotOf(isbn);
+        if (slot < 0) {
+            return null;
+        }
+        Book removed = detach(slot, isbn);
+        long code = pack(isbn);
+        if (code != 0) {
+            packedIndex.remove(code);
+        } else {
+            otherIndex.remove(isbn);
+        }
+
+        Chunk chunk = chunk(slot);
+        int index = slot & CHUNK_MASK;
+        // новое поколение сразу делает недействительными все представления этого слота
+        chunk.states.set(index, state(generation(chunk.states.get(index)) + 1, 0));
+        chunk.titles[index] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        size--;
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // только под монитором каталога
+    private int slotOf(String isbn) {
+        long code = pack(isbn);
+        if (code == 0) {
+            Integer slot = otherIndex.get(isbn);
+            return slot == null ? -1 : slot;
+        }
+        return packedIndex.get(code);
+    }
+
+    private long stateOf(int slot) {
+        return chunk(slot).states.get(slot & CHUNK_MASK);
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        int slot = nextSlot++;
+        if ((slot >>> CHUNK_BITS) == chunks.length) {
+            Chunk[] grown = Arrays.copyOf(chunks, chunks.length * 2);
+            for (int i = chunks.length; i < grown.length; i++) {
+                grown[i] = new Chunk();
+            }
+            chunks = grown;
+        }
+        return slot;
+    }
+
+    private int authorId(String author) {
+        Integer id = authorDictionary.get(author);
+        if (id == null) {
+            id = authorCount;
+            String[] current = authors;
+            if (id == current.length) {
+                current = Arrays.copyOf(current, id * 2);
+            }
+            current[id] = author;
+            authors = current;
+            authorCount++;
+            authorDictionary.put(author, id);
+        }
+        return id;
+    }
+
+    private Book detach(int slot, String isbn) {
+        Chunk chunk = chunk(slot);
+        int index = slot & CHUNK_MASK;
+        return new Book(chunk.titles[index], authors[chunk.authorIds[index]], isbn,
+                copies(chunk.states.get(index)));
+    }
+
+    private Chunk chunk(int slot) {
+        return chunks[slot >>> CHUNK_BITS];
+    }
+
+    private static long state(int generation, int copies) {
+        return ((long) generation << 32) | (copies & 0xFFFFFFFFL);
+    }
+
+    private static int generation(long state) {
+        return (int) (state >>> 32);
+    }
+
+    private static int copies(long state) {
+        return (int) state;
+    }
+
+    // 0 — ISBN не помещается в упакованный вид и хранится строкой
+    static long pack(String isbn) {
+        int length = isbn.length();
+        if (length == 0 || length > 17) {
+            return 0;
+        }
+        long value = 0;
+        long flags = 0;
+        for (int i = 0; i < length; i++) {
+            char c = isbn.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+            } else if (c == 'X' && i == length - 1 && length > 1) {
+                flags = 1L << 62;
+            } else {
+                return 0;
+            }
+        }
+        return value | ((long) length << 57) | flags;
+    }
+
+    private static final class Chunk {
+        private final String[] titles = new String[CHUNK_SIZE];
+        private final int[] authorIds = new int[CHUNK_SIZE];
+        private final AtomicLongArray states = new AtomicLongArray(CHUNK_SIZE);
+    }
+
+    // Представление слота. Каждое чтение проверяет поколение до и после, так что
+    // после удаления книги представление возвращает null и 0, а не данные новой книги.
+    private class BookView extends Book {
+        private final Chunk chunk;
+        private final int index;
+        private final int generation;
+        private final String isbn;
+
+        private BookView(int slot, int generation, String isbn) {
+            this.chunk = chunk(slot);
+            this.index = slot & CHUNK_MASK;
+            this.generation = generation;
+            this.isbn = isbn;
+        }
+
+        @Override
+        public String getTitle() {
+            if (!isLive()) {
+                return null;
+            }
+            String title = chunk.titles[index];
+            return isLive() ? title : null;
+        }
+
+        @Override
+        public String getAuthor() {
+            if (!isLive()) {
+                return null;
+            }
+            String author = authors[chunk.authorIds[index]];
+            return isLive() ? author : null;
+        }
+
+        @Override
+        public String getIsbn() {
+            return isbn;
+        }
+
+        @Override
+        public int getCopies() {
+            long state = chunk.states.get(index);
+            return generation(state) == generation ? copies(state) : 0;
+        }
+
+        @Override
+        public boolean decreaseCopies() {
+            while (true) {
+                long state = chunk.states.get(index);
+                if (generation(state) != generation || copies(state) <= 0) {
+                    return false;
+                }
+                if (chunk.states.compareAndSet(index, state, state - 1)) {
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public void increaseCopies() {
+            while (true) {
+                long state = chunk.states.get(index);
+                if (generation(state) != generation || chunk.states.compareAndSet(index, state, state + 1)) {
+                    return;
+                }
+            }
+        }
+
+        private boolean isLive() {
+            return generation(chunk.states.get(index)) == generation;
+        }
+    }
+
+    // Открытая адресация с линейным пробированием, ключ 0 означает пустую ячейку.
+    // Ключи и значения чередуются в одном массиве, чтобы читатель всегда видел их вместе.
+    // Меняет индекс только писатель; читатели проверяют версию и при гонке повторяют поиск.
+    private static class LongIntIndex {
+        private long[] table = new long[32];
+        private int size;
+        private volatile int version;
+
+        // Чтение без блокировки: beginRead, поиск и прочие чтения, затем validate;
+        // если validate вернул false, писатель успел что-то поменять и всё читается заново.
+        int beginRead() {
+            int current;
+            while (((current = version) & 1) != 0) {
+                Thread.onSpinWait();
+            }
+            return current;
+        }
+
+        boolean validate(int before) {
+            VarHandle.acquireFence();
+            return version == before;
+        }
+
+        int get(long key) {
+            long[] t = table;
+            int mask = (t.length >>> 1) - 1;
+            for (int i = hash(key, mask); ; i = (i + 1) & mask) {
+                long k = t[i << 1];
+                if (k == key) {
+                    return (int) t[(i << 1) + 1];
+                }
+                if (k == 0) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(long key, int value) {
+            beginWrite();
+            try {
+                if ((size + 1) * 3 > capacity() * 2) {
+                    rehash(capacity() * 2);
+                }
+                insert(table, key, value);
+            } finally {
+                endWrite();
+            }
+        }
+
+        void remove(long key) {
+            beginWrite();
+            try {
+                long[] t = table;
+                int mask = capacity() - 1;
+                int i = hash(key, mask);
+                while (t[i << 1] != key) {
+                    if (t[i << 1] == 0) {
+                        return;
+                    }
+                    i = (i + 1) & mask;
+                }
+                // сдвигаем следующие элементы цепочки назад, чтобы не оставлять «надгробий»
+                int gap = i;
+                for (int j = (gap + 1) & mask; t[j << 1] != 0; j = (j + 1) & mask) {
+                    int home = hash(t[j << 1], mask);
+                    if (((j - home) & mask) >= ((j - gap) & mask)) {
+                        t[gap << 1] = t[j << 1];
+                        t[(gap << 1) + 1] = t[(j << 1) + 1];
+                        gap = j;
+                    }
+                }
+                t[gap << 1] = 0;
+                size--;
+            } finally {
+                endWrite();
+            }
+        }
+
+        private void beginWrite() {
+            version++;
+            VarHandle.storeStoreFence();
+        }
+
+        private void endWrite() {
+            version++;
+        }
+
+        private int capacity() {
+            return table.length >>> 1;
+        }
+
+        private void insert(long[] t, long key, int value) {
+            int mask = (t.length >>> 1) - 1;
+            int i = hash(key, mask);
+            while (t[i << 1] != 0 && t[i << 1] != key) {
+                i = (i + 1) & mask;
+            }
+            if (t[i << 1] == 0) {
+                size++;
+            }
+            t[(i << 1) + 1] = value;
+            t[i << 1] = key;
+        }
+
+        private void rehash(int capacity) {
+            long[] old = table;
+            long[] grown = new long[capacity << 1];
+            size = 0;
+            for (int i = 0; i < old.length; i += 2) {
+                if (old[i] != 0) {
+                    insert(grown, old[i], (int) old[i + 1]);
+                }
+            }
+            table = grown;
+        }
+
+        private static int hash(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
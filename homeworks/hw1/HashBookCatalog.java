@@ -0,0 +1,26 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class HashBookCatalog implements BookCatalog {
+    private final Map<String, Book> books = new ConcurrentHashMap<>();
+
+    @Override
+    public Book put(Book book) {
+        return books.put(book.getIsbn(), book);
+    }
+
+    @Override
+    public Book get(String isbn) {
+        return books.get(isbn);
+    }
+
+    @Override
+    public Book remove(String isbn) {
+        return books.remove(isbn);
+    }
+
+    @Override
+    public int size() {
+        return books.size();
+    }
+}
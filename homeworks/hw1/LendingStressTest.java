@@ -0,0 +1,113 @@
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Нагрузочная проверка выдачи: много потоков одновременно берут и сдают одну книгу.
+// Запуск: java LendingStressTest [потоков] [экземпляров]
+public class LendingStressTest {
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int copies = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+        boolean ok = checkNoOversell(threads, copies) & checkReturns(threads, copies);
+        measureThroughput(threads, copies);
+        if (!ok) {
+            System.out.println("ПРОВЕРКА НЕ ПРОЙДЕНА");
+            System.exit(1);
+        }
+        System.out.println("Все проверки пройдены");
+    }
+
+    // каждый поток пытается взять книгу много раз; выдано должно быть ровно copies
+    private static boolean checkNoOversell(int threads, int copies) throws InterruptedException {
+        Library library = new Library(new LoanLedger(), new NoOpEventSink());
+        library.addBook(new Book("1984", "Джордж Оруэлл", "ISBN001", copies));
+
+        AtomicInteger granted = new AtomicInteger();
+        runConcurrently(threads, thread -> {
+            for (int i = 0; i < 1000; i++) {
+                int readerId = thread * 1000 + i;
+                library.lendBook("ISBN001", readerId);
+                if (library.getLoans(readerId).contains("ISBN001")) {
+                    granted.incrementAndGet();
+                }
+            }
+        });
+
+        int holders = library.getHolders("ISBN001").size();
+        int left = library.getAvailableCopies("ISBN001");
+        boolean ok = granted.get() == copies && holders == copies && left == 0;
+        System.out.println("Выдача: выдано " + granted.get() + ", в журнале " + holders
+                + ", осталось " + left + " — " + (ok ? "OK" : "ОШИБКА"));
+        return ok;
+    }
+
+    // одновременные выдачи и возвраты не должны терять и не должны создавать экземпляры
+    private static boolean checkReturns(int threads, int copies) throws InterruptedException {
+        Library library = new Library(new LoanLedger(), new NoOpEventSink());
+        library.addBook(new Book("1984", "Джордж Оруэлл", "ISBN001", copies));
+
+        runConcurrently(threads, thread -> {
+            for (int i = 0; i < 2000; i++) {
+                library.lendBook("ISBN001", thread);
+                library.returnBook("ISBN001", thread);
+            }
+        });
+
+        int left = library.getAvailableCopies("ISBN001");
+        int holders = library.getHolders("ISBN001").size();
+        boolean ok = left + holders == copies && holders == 0;
+        System.out.println("Выдача и возврат: свободно " + left + ", на руках " + holders
+                + " — " + (ok ? "OK" : "ОШИБКА"));
+        return ok;
+    }
+
+    private static void measureThroughput(int threads, int copies) throws InterruptedException {
+        Book book = new Book("1984", "Джордж Оруэлл", "ISBN001", copies);
+        LongAdder operations = new LongAdder();
+        long deadline = System.nanoTime() + 1_000_000_000L;
+
+        long start = System.nanoTime();
+        runConcurrently(threads, thread -> {
+            long done = 0;
+            while (System.nanoTime() < deadline) {
+                for (int i = 0; i < 1000; i++) {
+                    if (book.decreaseCopies()) {
+                        book.increaseCopies();
+                        done += 2;
+                    }
+                }
+            }
+            operations.add(done);
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Пропускная способность: %.1f млн операций/с (%d потоков), экземпляров в конце: %d%n",
+                operations.sum() / seconds / 1e6, threads, book.getCopies());
+    }
+
+    private static void runConcurrently(int threads, ThreadTask task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    task.run(thread);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int thread);
+    }
+}
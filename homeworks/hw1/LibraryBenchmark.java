@@ -0,0 +1,105 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Пропускная способность выдачи и возврата в зависимости от размера фонда,
+// для каталога на хеш-таблице и для компактного каталога.
+// Запуск: java -Xmx4g LibraryBenchmark [потоков] [размер фонда...]
+// По умолчанию фонд 10 тыс., 1 млн и 10 млн книг; для 10 млн нужно около 3 ГБ кучи.
+public class LibraryBenchmark {
+    private static final int COPIES = 5;
+    private static final int PROBES = 1 << 20;
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+    private static final long MEASURE_NANOS = 3_000_000_000L;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int[] sizes = {10_000, 1_000_000, 10_000_000};
+        if (args.length > 1) {
+            sizes = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) {
+                sizes[i - 1] = Integer.parseInt(args[i]);
+            }
+        }
+
+        System.out.printf("%-22s %12s %20s%n", "Каталог", "Книг", "Выдач+возвратов/с");
+        for (int size : sizes) {
+            run("HashBookCatalog", HashBookCatalog::new, size, threads);
+            run("CompactBookCatalog", () -> new CompactBookCatalog(size), size, threads);
+        }
+    }
+
+    private static void run(String name, Supplier<BookCatalog> factory, int size, int threads)
+            throws InterruptedException {
+        System.gc();
+        BookCatalog catalog;
+        try {
+            catalog = factory.get();
+            for (int i = 0; i < size; i++) {
+                catalog.put(new Book("Книга", "Автор", isbn(i), COPIES));
+            }
+        } catch (OutOfMemoryError e) {
+            System.out.printf("%-22s %12d %20s%n", name, size, "мало памяти (-Xmx)");
+            return;
+        }
+        Library library = new Library(new LoanLedger(), new NoOpEventSink(), catalog);
+
+        // номера запрашиваемых книг выбираются заранее, чтобы в замер не попадали их построение и ГСЧ
+        SplittableRandom random = new SplittableRandom(42);
+        String[] probes = new String[Math.min(size, PROBES)];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = isbn(random.nextInt(size));
+        }
+
+        measure(library, probes, threads, WARMUP_NANOS);
+        double perSecond = measure(library, probes, threads, MEASURE_NANOS);
+        System.out.printf("%-22s %12d %,20.0f%n", name, size, perSecond);
+    }
+
+    // каждая операция — выдача и возврат одной книги одним читателем
+    private static double measure(Library library, String[] probes, int threads, long nanos)
+            throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        long[] deadline = new long[1];
+        for (int t = 0; t < threads; t++) {
+            int readerId = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long done = 0;
+                int next = readerId * (probes.length / threads);
+                while (System.nanoTime() < deadline[0]) {
+                    for (int i = 0; i < 1000; i++) {
+                        String isbn = probes[next];
+                        next = next + 1 == probes.length ? 0 : next + 1;
+                        library.lendBook(isbn, readerId);
+                        library.returnBook(isbn, readerId);
+                    }
+                    done += 1000;
+                }
+                operations.add(done);
+            });
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        deadline[0] = begin + nanos;
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return operations.sum() / ((System.nanoTime() - begin) / 1e9);
+    }
+
+    // 13-значный ISBN; такие номера компактный каталог хранит упакованными в long
+    private static String isbn(int number) {
+        String digits = Integer.toString(number);
+        return "978" + "0000000000".substring(digits.length()) + digits;
+    }
+}
@@ -0,0 +1,24 @@
+public interface LibraryEvent {
+
+    enum RejectReason { BOOK_NOT_FOUND, NO_COPIES_AVAILABLE, NOT_BORROWED }
+
+    record BookAdded(String isbn, String title, String author, int copies) implements LibraryEvent { }
+
+    record BookRemoved(String isbn) implements LibraryEvent { }
+
+    record ReaderRegistered(int readerId) implements LibraryEvent { }
+
+    record ReaderRemoved(int readerId) implements LibraryEvent { }
+
+    record BookLent(String isbn, int readerId) implements LibraryEvent { }
+
+    record BookReturned(String isbn, int readerId) implements LibraryEvent { }
+
+    record HoldPlaced(String isbn, int readerId) implements LibraryEvent { }
+
+    record LoanOverdue(String isbn, int readerId, long dueAt) implements LibraryEvent { }
+
+    record LendRejected(String isbn, int readerId, RejectReason reason) implements LibraryEvent { }
+
+    record ReturnRejected(String isbn, int readerId, RejectReason reason) implements LibraryEvent { }
+}
@@ -0,0 +1,3 @@
+public interface LibraryEventSink {
+    void publish(LibraryEvent event);
+}
@@ -0,0 +1,154 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Формат строк CSV:
+//   book,<название>,<автор>,<isbn>,<экземпляров>
+//   reader,<имя>,<id>
+// Поля с запятыми берутся в двойные кавычки, кавычка внутри поля удваивается.
+public class LibraryImporter {
+    private final Library library;
+    private final int chunkSize;
+    private final int threads;
+
+    public LibraryImporter(Library library) {
+        this(library, 10_000, Runtime.getRuntime().availableProcessors());
+    }
+
+    public LibraryImporter(Library library, int chunkSize, int threads) {
+        this.library = library;
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+    }
+
+    public ImportResult importCsv(Path file) throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        Deque<Future<ParsedChunk>> inFlight = new ArrayDeque<>();
+        ImportResult result = new ImportResult();
+
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<String> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = in.readLine()) != null) {
+                chunk.add(line);
+                if (chunk.size() == chunkSize) {
+                    submit(pool, inFlight, chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                    // не держим в памяти больше нескольких чанков на поток
+                    while (inFlight.size() >= threads * 2) {
+                        apply(inFlight.poll(), result);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(pool, inFlight, chunk);
+            }
+            while (!inFlight.isEmpty()) {
+                apply(inFlight.poll(), result);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return result;
+    }
+
+    private void submit(ExecutorService pool, Deque<Future<ParsedChunk>> inFlight, List<String> lines) {
+        inFlight.add(pool.submit(() -> parse(lines)));
+    }
+
+    private void apply(Future<ParsedChunk> future, ImportResult result) throws IOException {
+        ParsedChunk chunk;
+        try {
+            chunk = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Импорт прерван", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Ошибка разбора CSV", e.getCause());
+        }
+        library.addBooks(chunk.books);
+        library.registerReaders(chunk.readers);
+        result.books += chunk.books.size();
+        result.readers += chunk.readers.size();
+        result.skipped += chunk.skipped;
+    }
+
+    private static ParsedChunk parse(List<String> lines) {
+        ParsedChunk chunk = new ParsedChunk();
+        for (String line : lines) {
+            List<String> fields = splitCsv(line);
+            try {
+                if (fields.size() == 5 && fields.get(0).equals("book")) {
+                    chunk.books.add(new Book(fields.get(1), fields.get(2), fields.get(3),
+                            Integer.parseInt(fields.get(4).trim())));
+                } else if (fields.size() == 3 && fields.get(0).equals("reader")) {
+                    chunk.readers.add(new Reader(fields.get(1), Integer.parseInt(fields.get(2).trim())));
+                } else {
+                    chunk.skipped++;
+                }
+            } catch (NumberFormatException e) {
+                chunk.skipped++;
+            }
+        }
+        return chunk;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(5);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static class ParsedChunk {
+        private final List<Book> books = new ArrayList<>();
+        private final List<Reader> readers = new ArrayList<>();
+        private int skipped;
+    }
+
+    public static class ImportResult {
+        private long books;
+        private long readers;
+        private long skipped;
+
+        public long getBooks() { return books; }
+        public long getReaders() { return readers; }
+        public long getSkipped() { return skipped; }
+
+        @Override
+        public String toString() {
+            return "Импортировано книг: " + books + ", читателей: " + readers + ", пропущено строк: " + skipped;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Сеть филиалов: каждый филиал — отдельная Library со своим фондом экземпляров,
+// общих структур и блокировок между филиалами нет. Перемещения и опрос наличия
+// одной книги идут под блокировкой её полосы, поэтому опрос не видит экземпляр «в пути».
+public class LibraryNetwork implements AutoCloseable {
+    private static final int STRIPES = 64;
+
+    public enum TransferResult {
+        TRANSFERRED,
+        NO_FREE_COPY,
+        REJECTED_BY_TARGET,
+        // получатель не принял экземпляр, а у источника книгу успели удалить
+        LOST
+    }
+
+    private final Map<String, Library> branches = new ConcurrentHashMap<>();
+    private final ExecutorService pool;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final LongAdder lostCopies = new LongAdder();
+
+    public LibraryNetwork() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public LibraryNetwork(int threads) {
+        this.pool = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public void addBranch(String name, Library library) {
+        branches.put(name, library);
+    }
+
+    public Library getBranch(String name) {
+        Library branch = branches.get(name);
+        if (branch == null) {
+            throw new NoSuchElementException("Филиал '" + name + "' не найден");
+        }
+        return branch;
+    }
+
+    // опрашивает все филиалы параллельно; в ответе только филиалы со свободными экземплярами
+    public Map<String, Integer> findAvailability(String isbn) {
+        ReentrantLock stripe = stripe(isbn);
+        stripe.lock();
+        try {
+            return queryBranches(isbn);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    public int getTotalAvailable(String isbn) {
+        int total = 0;
+        for (int copies : findAvailability(isbn).values()) {
+            total += copies;
+        }
+        return total;
+    }
+
+    // Экземпляр забирается из фонда источника (CAS) и зачисляется получателю под блокировкой
+    // полосы ISBN, так что findAvailability видит его либо в источнике, либо в получателе.
+    // Если получатель не принял книгу, экземпляр возвращается источнику; если вернуть
+    // уже некуда, результат — LOST и экземпляр учитывается в getLostCopies().
+    public TransferResult transfer(String isbn, String from, String to) {
+        Library source = getBranch(from);
+        Library target = getBranch(to);
+        ReentrantLock stripe = stripe(isbn);
+        stripe.lock();
+        try {
+            if (!source.takeCopyForTransfer(isbn)) {
+                return TransferResult.NO_FREE_COPY;
+            }
+            if (target.receiveTransferredCopy(isbn)) {
+                return TransferResult.TRANSFERRED;
+            }
+            if (source.receiveTransferredCopy(isbn)) {
+                return TransferResult.REJECTED_BY_TARGET;
+            }
+            lostCopies.increment();
+            return TransferResult.LOST;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    public long getLostCopies() {
+        return lostCopies.sum();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private Map<String, Integer> queryBranches(String isbn) {
+        List<String> names = new ArrayList<>();
+        List<CompletableFuture<Integer>> answers = new ArrayList<>();
+        for (Map.Entry<String, Library> branch : branches.entrySet()) {
+            names.add(branch.getKey());
+            answers.add(CompletableFuture.supplyAsync(() -> branch.getValue().getAvailableCopies(isbn), pool));
+        }
+
+        Map<String, Integer> availability = new TreeMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            int copies = answers.get(i).join();
+            if (copies > 0) {
+                availability.put(names.get(i), copies);
+            }
+        }
+        return availability;
+    }
+
+    private ReentrantLock stripe(String isbn) {
+        int h = isbn.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+}
@@ -0,0 +1,357 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Записи по одной книге идут под блокировкой её полосы (по хешу ISBN), общего монитора
+// на пути выдачи нет. В режиме с журналом запись в файл короткая и общая для всех,
+// а сброс на диск групповой: поток, дождавшийся монитора, сбрасывает и чужие записи.
+// Снимок и журнал помечены номером поколения, поэтому журнал, уже вошедший в снимок,
+// при сбое до его очистки не проигрывается повторно.
+public class LoanLedger implements Closeable {
+    private static final byte LEND = 1;
+    private static final byte RETURN = 2;
+    private static final int STRIPES = 64;
+
+    private final Map<String, List<Integer>> holdersByIsbn = new ConcurrentHashMap<>();
+    private final Map<Integer, List<String>> loansByReader = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    private final boolean durable;
+    private final Object logLock = new Object();
+    private final Object snapshotLock = new Object();
+    private File logFile;
+    private File snapshotFile;
+    private DataOutputStream log;
+    private long generation;
+    private long appended;
+    private long flushed;
+    private int snapshotInterval;
+    private int recordsSinceSnapshot;
+
+    public LoanLedger() {
+        this.durable = false;
+        initStripes();
+    }
+
+    public LoanLedger(String directory, int snapshotInterval) throws IOException {
+        this.durable = true;
+        initStripes();
+        File dir = new File(directory);
+        dir.mkdirs();
+        this.logFile = new File(dir, "loans.log");
+        this.snapshotFile = new File(dir, "loans.snapshot");
+        this.snapshotInterval = snapshotInterval;
+
+        replaySnapshot();
+        boolean complete = replayLog();
+        boolean empty = !logFile.exists() || logFile.length() == 0;
+        log = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(logFile, true)));
+        if (empty) {
+            log.writeLong(generation);
+            log.flush();
+        }
+        if (!complete) {
+            snapshot();
+        }
+    }
+
+    public void recordLend(String isbn, int readerId) {
+        long seq;
+        ReentrantLock stripe = stripe(isbn);
+        stripe.lock();
+        try {
+            seq = append(LEND, isbn, readerId);
+            applyLend(isbn, readerId);
+        } finally {
+            stripe.unlock();
+        }
+        commit(seq, 1);
+    }
+
+    public boolean recordReturn(String isbn, int readerId) {
+        long seq;
+        ReentrantLock stripe = stripe(isbn);
+        stripe.lock();
+        try {
+            List<Integer> holders = holdersByIsbn.get(isbn);
+            if (holders == null || !holders.contains(readerId)) {
+                return false;
+            }
+            seq = append(RETURN, isbn, readerId);
+            applyReturn(isbn, readerId);
+        } finally {
+            stripe.unlock();
+        }
+        commit(seq, 1);
+        return true;
+    }
+
+    public void recordLends(String isbn, int[] readerIds, int count) {
+        long seq = 0;
+        ReentrantLock stripe = stripe(isbn);
+        stripe.lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                seq = append(LEND, isbn, readerIds[i]);
+                applyLend(isbn, readerIds[i]);
+            }
+        } finally {
+            stripe.unlock();
+        }
+        commit(seq, count);
+    }
+
+    // accepted[i] — брал ли читатель readerIds[i] эту книгу; возвращает число принятых возвратов
+    public int recordReturns(String isbn, int[] readerIds, int count, boolean[] accepted) {
+        int recorded = 0;
+        long seq = 0;
+        ReentrantLock stripe = stripe(isbn);
+        stripe.lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                List<Integer> holders = holdersByIsbn.get(isbn);
+                accepted[i] = holders != null && holders.contains(readerIds[i]);
+                if (accepted[i]) {
+                    seq = append(RETURN, isbn, readerIds[i]);
+                    applyReturn(isbn, readerIds[i]);
+                    recorded++;
+                }
+            }
+        } finally {
+            stripe.unlock();
+        }
+        commit(seq, recorded);
+        return recorded;
+    }
+
+    public List<Integer> getHolders(String isbn) {
+        ReentrantLock stripe = stripe(isbn);
+        stripe.lock();
+        try {
+            List<Integer> holders = holdersByIsbn.get(isbn);
+            return holders == null ? Collections.emptyList() : new ArrayList<>(holders);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    public List<String> getLoans(int readerId) {
+        // список читателя меняется под разными полосами, поэтому копируем его под блокировкой ячейки
+        List<String> copy = new ArrayList<>();
+        loansByReader.computeIfPresent(readerId, (k, loans) -> {
+            copy.addAll(loans);
+            return loans;
+        });
+        return copy;
+    }
+
+    public void snapshot() throws IOException {
+        if (!durable) {
+            return;
+        }
+        synchronized (snapshotLock) {
+            // пока держим все полосы, новых записей в журнале не появляется
+            for (ReentrantLock stripe : stripes) {
+                stripe.lock();
+            }
+            try {
+                synchronized (logLock) {
+                    if (log == null) {
+                        return;
+                    }
+                    log.flush();
+                }
+                long next = generation + 1;
+                File tmp = new File(snapshotFile.getPath() + ".tmp");
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                    int count = 0;
+                    for (List<Integer> holders : holdersByIsbn.values()) {
+                        count += holders.size();
+                    }
+                    out.writeLong(next);
+                    out.writeInt(count);
+                    for (Map.Entry<String, List<Integer>> entry : holdersByIsbn.entrySet()) {
+                        for (int readerId : entry.getValue()) {
+                            out.writeUTF(entry.getKey());
+                            out.writeInt(readerId);
+                        }
+                    }
+                }
+                Files.move(tmp.toPath(), snapshotFile.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+                synchronized (logLock) {
+                    log.close();
+                    log = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(logFile, false)));
+                    log.writeLong(next);
+                    log.flush();
+                    generation = next;
+                    flushed = appended;
+                    recordsSinceSnapshot = 0;
+                }
+            } finally {
+                for (ReentrantLock stripe : stripes) {
+                    stripe.unlock();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (logLock) {
+            if (log != null) {
+                log.close();
+                log = null;
+            }
+        }
+    }
+
+    private void initStripes() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    private ReentrantLock stripe(String isbn) {
+        int h = isbn.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    // возвращает порядковый номер записи, 0 — журнала нет
+    private long append(byte type, String isbn, int readerId) {
+        if (!durable) {
+            return 0;
+        }
+        synchronized (logLock) {
+            if (log == null) {
+                return 0;
+            }
+            try {
+                log.writeByte(type);
+                log.writeUTF(isbn);
+                log.writeInt(readerId);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Не удалось записать журнал выдач", e);
+            }
+            return ++appended;
+        }
+    }
+
+    // Групповой сброс: если кто-то уже сбросил журнал дальше нашей записи, ждать диска не нужно
+    private void commit(long seq, int records) {
+        if (seq == 0) {
+            return;
+        }
+        boolean snapshotDue;
+        synchronized (logLock) {
+            if (log != null && flushed < seq) {
+                try {
+                    log.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Не удалось записать журнал выдач", e);
+                }
+                flushed = appended;
+            }
+            recordsSinceSnapshot += records;
+            snapshotDue = log != null && snapshotInterval > 0 && recordsSinceSnapshot >= snapshotInterval;
+            if (snapshotDue) {
+                recordsSinceSnapshot = 0;
+            }
+        }
+        if (!snapshotDue) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось сохранить снимок журнала выдач", e);
+        }
+    }
+
+    private void applyLend(String isbn, int readerId) {
+        holdersByIsbn.computeIfAbsent(isbn, k -> new ArrayList<>()).add(readerId);
+        loansByReader.compute(readerId, (k, loans) -> {
+            List<String> list = loans == null ? new ArrayList<>() : loans;
+            list.add(isbn);
+            return list;
+        });
+    }
+
+    private void applyReturn(String isbn, int readerId) {
+        List<Integer> holders = holdersByIsbn.get(isbn);
+        if (holders != null && holders.remove(Integer.valueOf(readerId)) && holders.isEmpty()) {
+            holdersByIsbn.remove(isbn);
+        }
+        loansByReader.computeIfPresent(readerId, (k, loans) -> {
+            loans.remove(isbn);
+            return loans.isEmpty() ? null : loans;
+        });
+    }
+
+    private void replaySnapshot() throws IOException {
+        if (!snapshotFile.exists()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(snapshotFile)))) {
+            generation = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                applyLend(in.readUTF(), in.readInt());
+            }
+        }
+    }
+
+    private boolean replayLog() throws IOException {
+        if (!logFile.exists() || logFile.length() == 0) {
+            return true;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(logFile)))) {
+            long logGeneration;
+            try {
+                logGeneration = in.readLong();
+            } catch (EOFException e) {
+                return false;
+            }
+            if (logGeneration < generation) {
+                // сбой случился после сохранения снимка, но до очистки журнала — он уже учтён
+                return false;
+            }
+            int type;
+            while ((type = in.read()) != -1) {
+                String isbn;
+                int readerId;
+                try {
+                    isbn = in.readUTF();
+                    readerId = in.readInt();
+                } catch (EOFException e) {
+                    // хвост журнала мог оборваться при сбое — дочитываем до последней целой записи
+                    return false;
+                }
+                if (type == LEND) {
+                    applyLend(isbn, readerId);
+                } else if (type == RETURN) {
+                    applyReturn(isbn, readerId);
+                }
+                recordsSinceSnapshot++;
+            }
+        }
+        return true;
+    }
+}
@@ -1,6 +1,9 @@
+import java.time.Duration;
+
 public class Main {
     public static void main(String[] args) {
-        Library library = new Library();
+        AsyncEventSink events = new AsyncEventSink(System.out::println);
+        Library library = new Library(new LoanLedger(), events);
 
         Book book1 = new Book("1984", "Джордж Оруэлл", "ISBN001", 3);
         Book book2 = new Book("Мастер и Маргарита", "Булгаков", "ISBN002", 2);
@@ -8,6 +11,9 @@ public class Main {
         library.addBook(book1);
         library.addBook(book2);
 
+        System.out.println("Поиск \"оруэлл\": " + library.searchBooks("оруэлл"));
+        System.out.println("Поиск \"мастер марг\": " + library.searchBooks("мастер марг"));
+
         Reader reader1 = new Reader("Алиса", 1);
         Reader reader2 = new Reader("Боб", 2);
 
@@ -15,9 +21,45 @@ public class Main {
         library.registerReader(reader2);
 
         library.lendBook("ISBN001", 1);
-        library.returnBook("ISBN001");
+        library.lendBook("ISBN002", 1);
+        System.out.println("Книгу ISBN001 держат читатели: " + library.getHolders("ISBN001"));
+        System.out.println("Читатель 1 держит: " + library.getLoans(1));
+        library.returnBook("ISBN001", 1);
+        library.returnBook("ISBN002", 1);
+
+        library.lendBook("ISBN002", 2);
+        library.lendBook("ISBN002", 2);
+        library.reserveBook("ISBN002", 1)
+                .thenAccept(book -> System.out.println("Бронь читателя 1 выполнена: " + book));
+        library.returnBook("ISBN002", 2);
+
+        BatchResult lent = library.lendBatch(
+                new String[] {"ISBN001", "ISBN001", "ISBN404", "ISBN001", "ISBN001"},
+                new int[] {1, 2, 1, 1, 2});
+        System.out.println("Пакетная выдача: " + lent + ", отказ №5: " + lent.getFailure(4));
+        BatchResult returned = library.returnBatch(
+                new String[] {"ISBN001", "ISBN001", "ISBN001"},
+                new int[] {1, 2, 2});
+        System.out.println("Пакетный возврат: " + returned + ", отказ №3: " + returned.getFailure(2));
+
+        long inThreeWeeks = System.currentTimeMillis() + Duration.ofDays(21).toMillis();
+        System.out.println("Просрочено выдач через три недели: " + library.checkOverdue(inThreeWeeks));
 
         library.removeBook("ISBN002");
         library.removeReader(2);
+
+        try (LibraryNetwork network = new LibraryNetwork()) {
+            Library central = new Library(new LoanLedger(), events);
+            Library north = new Library(new LoanLedger(), events);
+            central.addBook(new Book("1984", "Джордж Оруэлл", "ISBN001", 4));
+            north.addBook(new Book("1984", "Джордж Оруэлл", "ISBN001", 0));
+            network.addBranch("Центральный", central);
+            network.addBranch("Северный", north);
+
+            System.out.println("Перемещение ISBN001: " + network.transfer("ISBN001", "Центральный", "Северный"));
+            System.out.println("Наличие ISBN001 по филиалам: " + network.findAvailability("ISBN001"));
+        }
+
+        events.close();
     }
 }
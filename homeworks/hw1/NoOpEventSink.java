@@ -0,0 +1,5 @@
+public class NoOpEventSink implements LibraryEventSink {
+    @Override
+    public void publish(LibraryEvent event) {
+    }
+}
@@ -0,0 +1,219 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Сроки выдач разложены по независимым частям (по хешу ISBN и читателя): у каждой части
+// своё колесо таймеров и свой монитор, общего монитора на пути выдачи нет.
+// Выдачи одного читателя по одной книге связаны в цепочку прямо через Loan, а цепочки
+// лежат в индексе с примитивным ключом — без строковых ключей и коллекций на каждую выдачу.
+public class OverdueTracker {
+    private static final int SHARDS = 16;
+
+    private final Shard[] shards = new Shard[SHARDS];
+
+    public OverdueTracker(long tickMillis, long startMillis) {
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard(tickMillis, startMillis);
+        }
+    }
+
+    public void loanStarted(String isbn, int readerId, long dueAt) {
+        long key = key(isbn, readerId);
+        Shard shard = shard(key);
+        synchronized (shard) {
+            Loan loan = new Loan(isbn, readerId, dueAt);
+            loan.timeout = shard.wheel.schedule(dueAt, loan);
+            Loan head = shard.index.get(key);
+            if (head == null) {
+                shard.index.put(key, loan);
+            } else {
+                while (head.next != null) {
+                    head = head.next;
+                }
+                head.next = loan;
+            }
+        }
+    }
+
+    // отменяет самый ранний из ещё не просроченных сроков этого читателя по этой книге
+    public void loanEnded(String isbn, int readerId) {
+        long key = key(isbn, readerId);
+        Shard shard = shard(key);
+        synchronized (shard) {
+            for (Loan loan = shard.index.get(key); loan != null; loan = loan.next) {
+                if (loan.isbn.equals(isbn) && loan.readerId == readerId) {
+                    shard.wheel.cancel(loan.timeout);
+                    shard.unlink(key, loan);
+                    return;
+                }
+            }
+        }
+    }
+
+    public List<Loan> advanceTo(long nowMillis) {
+        List<Loan> overdue = new ArrayList<>();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                int from = overdue.size();
+                shard.wheel.advanceTo(nowMillis, overdue);
+                for (int i = from; i < overdue.size(); i++) {
+                    Loan loan = overdue.get(i);
+                    shard.unlink(key(loan.isbn, loan.readerId), loan);
+                }
+            }
+        }
+        return overdue;
+    }
+
+    public int getActiveLoans() {
+        int active = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                active += shard.wheel.size();
+            }
+        }
+        return active;
+    }
+
+    // у разных ISBN хеш может совпасть, поэтому в цепочке ISBN сверяется отдельно
+    private static long key(String isbn, int readerId) {
+        return ((long) isbn.hashCode() << 32) | (readerId & 0xFFFFFFFFL);
+    }
+
+    private Shard shard(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return shards[(int) (h >>> 60) & (SHARDS - 1)];
+    }
+
+    public static final class Loan {
+        private final String isbn;
+        private final int readerId;
+        private final long dueAt;
+        private TimerWheel.Timeout<Loan> timeout;
+        private Loan next;
+
+        private Loan(String isbn, int readerId, long dueAt) {
+            this.isbn = isbn;
+            this.readerId = readerId;
+            this.dueAt = dueAt;
+        }
+
+        public String isbn() {
+            return isbn;
+        }
+
+        public int readerId() {
+            return readerId;
+        }
+
+        public long dueAt() {
+            return dueAt;
+        }
+
+        @Override
+        public String toString() {
+            return "Loan[isbn=" + isbn + ", readerId=" + readerId + ", dueAt=" + dueAt + "]";
+        }
+    }
+
+    private static final class Shard {
+        private final TimerWheel<Loan> wheel;
+        private final LoanIndex index = new LoanIndex();
+
+        private Shard(long tickMillis, long startMillis) {
+            this.wheel = new TimerWheel<>(tickMillis, startMillis);
+        }
+
+        private void unlink(long key, Loan loan) {
+            Loan head = index.get(key);
+            if (head == loan) {
+                if (loan.next == null) {
+                    index.remove(key);
+                } else {
+                    index.put(key, loan.next);
+                }
+            } else {
+                Loan prev = head;
+                while (prev != null && prev.next != loan) {
+                    prev = prev.next;
+                }
+                if (prev != null) {
+                    prev.next = loan.next;
+                }
+            }
+            loan.next = null;
+        }
+    }
+
+    // Открытая адресация long -> первая выдача цепочки; пустая ячейка — value == null
+    private static final class LoanIndex {
+        private long[] keys = new long[16];
+        private Loan[] values = new Loan[16];
+        private int size;
+
+        Loan get(long key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key, mask); values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        void put(long key, Loan value) {
+            if ((size + 1) * 3 > keys.length * 2) {
+                rehash(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int i = hash(key, mask);
+            while (values[i] != null && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (values[i] == null) {
+                size++;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        void remove(long key) {
+            int mask = keys.length - 1;
+            int i = hash(key, mask);
+            while (keys[i] != key || values[i] == null) {
+                if (values[i] == null) {
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            int gap = i;
+            for (int j = (gap + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+                int home = hash(keys[j], mask);
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    gap = j;
+                }
+            }
+            values[gap] = null;
+            size--;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            Loan[] oldValues = values;
+            keys = new long[capacity];
+            values = new Loan[capacity];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int hash(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+import java.util.List;
+
+// Иерархическое колесо таймеров: 4 уровня по 64 слота. Уровень 0 отсчитывает тики,
+// каждый следующий — в 64 раза более крупные интервалы. Таймер добавляется и
+// отменяется за O(1), при переходе на новый интервал верхнего уровня его таймеры
+// переносятся на нижние уровни. Класс не потокобезопасен.
+public class TimerWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final Timeout<T>[][] slots;
+    private long currentTick;
+    private int size;
+
+    public TimerWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.slots = newSlots();
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    public Timeout<T> schedule(long deadlineMillis, T value) {
+        // округляем вверх, чтобы таймер не сработал раньше срока
+        Timeout<T> timeout = new Timeout<>(Math.floorDiv(deadlineMillis - 1, tickMillis) + 1, value);
+        insert(timeout);
+        size++;
+        return timeout;
+    }
+
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.level < 0) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    public void advanceTo(long nowMillis, List<T> expired) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        if (size == 0) {
+            currentTick = Math.max(currentTick, targetTick);
+            return;
+        }
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level, (int) ((currentTick >>> (SLOT_BITS * level)) & (SLOTS - 1)), expired);
+                }
+            }
+            cascade(0, (int) (currentTick & (SLOTS - 1)), expired);
+            if (size == 0) {
+                currentTick = targetTick;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Timeout<T>[][] newSlots() {
+        return (Timeout<T>[][]) new Timeout<?>[LEVELS][SLOTS];
+    }
+
+    private void cascade(int level, int slot, List<T> expired) {
+        Timeout<T> timeout = slots[level][slot];
+        slots[level][slot] = null;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.level = -1;
+            if (timeout.deadlineTick <= currentTick) {
+                expired.add(timeout.value);
+                size--;
+            } else {
+                insert(timeout);
+            }
+            timeout = next;
+        }
+    }
+
+    private void insert(Timeout<T> timeout) {
+        long delta = Math.max(timeout.deadlineTick - currentTick, 1);
+        // слишком далёкие сроки ставим в самый дальний слот и переносим позже
+        long tick = currentTick + Math.min(delta, MAX_DELTA);
+        delta = tick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+
+        timeout.level = level;
+        timeout.slot = slot;
+        timeout.next = slots[level][slot];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        slots[level][slot] = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[timeout.level][timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.level = -1;
+    }
+
+    public static class Timeout<T> {
+        private final long deadlineTick;
+        private final T value;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private int level = -1;
+        private int slot;
+
+        private Timeout(long deadlineTick, T value) {
+            this.deadlineTick = deadlineTick;
+            this.value = value;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+}
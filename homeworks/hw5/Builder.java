@@ -1,3 +1,14 @@
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,32 +30,93 @@ public class ReportBuilderDemo {
         public String getColor() { return color; }
     }
 
+    // A report part that writes itself straight to the sink instead of being held as a String
+    public interface ReportSection {
+        void writeTo(Writer out) throws IOException;
+
+        static ReportSection of(String text) {
+            return out -> out.write(String.valueOf(text));
+        }
+
+        static ReportSection wrap(String before, ReportSection body, String after) {
+            return out -> {
+                out.write(before);
+                body.writeTo(out);
+                out.write(after);
+            };
+        }
+    }
+
     public static class Report {
-        private String header;
-        private String content;
-        private String footer;
+        private ReportSection header;
+        private ReportSection content;
+        private ReportSection footer;
         private Style style;
 
-        public void setHeader(String header) { this.header = header; }
-        public void setContent(String content) { this.content = content; }
-        public void setFooter(String footer) { this.footer = footer; }
+        public void setHeader(String header) { this.header = ReportSection.of(header); }
+        public void setContent(String content) { this.content = ReportSection.of(content); }
+        public void setFooter(String footer) { this.footer = ReportSection.of(footer); }
         public void setStyle(Style style) { this.style = style; }
 
-        public String getHeader() { return header; }
-        public String getContent() { return content; }
-        public String getFooter() { return footer; }
+        public void setHeader(ReportSection header) { this.header = header; }
+        public void setContent(ReportSection content) { this.content = content; }
+        public void setFooter(ReportSection footer) { this.footer = footer; }
+
+        public String getHeader() { return render(header); }
+        public String getContent() { return render(content); }
+        public String getFooter() { return render(footer); }
 
         public String export() {
-            StringBuilder sb = new StringBuilder();
-            sb.append("HEADER: ").append(header).append("\n");
-            sb.append("CONTENT: ").append(content).append("\n");
-            sb.append("FOOTER: ").append(footer).append("\n");
+            StringWriter out = new StringWriter();
+            try {
+                export(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toString();
+        }
+
+        public void export(Writer out) throws IOException {
+            out.write("HEADER: ");
+            writeSection(header, out);
+            out.write("\nCONTENT: ");
+            writeSection(content, out);
+            out.write("\nFOOTER: ");
+            writeSection(footer, out);
+            out.write("\n");
             if (style != null) {
-                sb.append("STYLE: font=").append(style.getFont())
-                  .append(", size=").append(style.getFontSize())
-                  .append(", color=").append(style.getColor());
+                out.write("STYLE: font=" + style.getFont()
+                        + ", size=" + style.getFontSize()
+                        + ", color=" + style.getColor());
             }
-            return sb.toString();
+        }
+
+        // Encodes through a fixed-size buffer; the channel is left open
+        public void export(WritableByteChannel channel) throws IOException {
+            Writer out = Channels.newWriter(channel, StandardCharsets.UTF_8);
+            export(out);
+            out.flush();
+        }
+
+        private static void writeSection(ReportSection section, Writer out) throws IOException {
+            if (section == null) {
+                out.write("null");
+            } else {
+                section.writeTo(out);
+            }
+        }
+
+        private static String render(ReportSection section) {
+            if (section == null) {
+                return null;
+            }
+            StringWriter out = new StringWriter();
+            try {
+                section.writeTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toString();
         }
     }
 
@@ -54,6 +126,11 @@ public class ReportBuilderDemo {
         void setFooter(String footer);
         void setStyle(Style style);
         Report getReport();
+
+        // For large reports: the content is generated while exporting
+        default void setContent(ReportSection content) {
+            setContent(Report.render(content));
+        }
     }
 
     public static class TextReportBuilder implements IReportBuilder {
@@ -61,6 +138,7 @@ public class ReportBuilderDemo {
 
         public void setHeader(String header) { report.setHeader(header); }
         public void setContent(String content) { report.setContent(content); }
+        public void setContent(ReportSection content) { report.setContent(content); }
         public void setFooter(String footer) { report.setFooter(footer); }
         public void setStyle(Style style) { report.setStyle(style); }
         public Report getReport() { return report; }
@@ -71,6 +149,7 @@ public class ReportBuilderDemo {
 
         public void setHeader(String header) { report.setHeader("<h1>" + header + "</h1>"); }
         public void setContent(String content) { report.setContent("<p>" + content + "</p>"); }
+        public void setContent(ReportSection content) { report.setContent(ReportSection.wrap("<p>", content, "</p>")); }
         public void setFooter(String footer) { report.setFooter("<footer>" + footer + "</footer>"); }
         public void setStyle(Style style) {
             report.setStyle(style);
@@ -111,16 +190,21 @@ public class ReportBuilderDemo {
         System.out.println(htmlReport.export());
 
         IReportBuilder xmlBuilder = new IReportBuilder() {
-            private StringBuilder xml = new StringBuilder();
-            public void setHeader(String header) { xml.append("<header>").append(header).append("</header>\n"); }
-            public void setContent(String content) { xml.append("<content>").append(content).append("</content>\n"); }
-            public void setFooter(String footer) { xml.append("<footer>").append(footer).append("</footer>\n"); }
+            private List<ReportSection> sections = new ArrayList<>();
+            public void setHeader(String header) { sections.add(ReportSection.of("<header>" + header + "</header>\n")); }
+            public void setContent(String content) { sections.add(ReportSection.of("<content>" + content + "</content>\n")); }
+            public void setContent(ReportSection content) { sections.add(ReportSection.wrap("<content>", content, "</content>\n")); }
+            public void setFooter(String footer) { sections.add(ReportSection.of("<footer>" + footer + "</footer>\n")); }
             public void setStyle(Style style) { }
             public Report getReport() {
                 return new Report() {
                     @Override
-                    public String export() {
-                        return "<report>\n" + xml.toString() + "</report>";
+                    public void export(Writer out) throws IOException {
+                        out.write("<report>\n");
+                        for (ReportSection section : sections) {
+                            section.writeTo(out);
+                        }
+                        out.write("</report>");
                     }
                 };
             }
@@ -128,5 +212,24 @@ public class ReportBuilderDemo {
         director.constructSimpleReport(xmlBuilder);
         System.out.println("\n=== XML Report ===");
         System.out.println(xmlBuilder.getReport().export());
+
+        IReportBuilder bigBuilder = new HtmlReportBuilder();
+        director.constructSimpleReport(bigBuilder);
+        bigBuilder.setContent(out -> {
+            for (int i = 1; i <= 1_000_000; i++) {
+                out.write("Line " + i + " of the generated content.<br>\n");
+            }
+        });
+        try {
+            Path file = Files.createTempFile("report", ".html");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                bigBuilder.getReport().export(channel);
+                System.out.println("\n=== Streamed Report ===");
+                System.out.println("Written " + channel.size() + " bytes to " + file);
+            }
+            Files.delete(file);
+        } catch (IOException e) {
+            System.out.println("Export failed: " + e.getMessage());
+        }
     }
 }